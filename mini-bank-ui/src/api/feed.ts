@@ -0,0 +1,89 @@
+import api from './client'
+import type { AccountBalance, Transaction } from '../types'
+
+export type AccountFeedHandlers = {
+  onTransaction: (transaction: Transaction) => void
+  onBalance: (balance: AccountBalance) => void
+  // Events may have been missed (the server dropped them, or the connection was re-established): refetch.
+  onResync: () => void
+  onUnauthorized: () => void
+}
+
+const MAX_RETRY_DELAY_MS = 30000
+
+// EventSource cannot send the bearer token, so the stream is read with fetch and parsed here.
+export const openAccountFeed = (token: string, handlers: AccountFeedHandlers) => {
+  const controller = new AbortController()
+  let retryDelay = 1000
+  let connectedBefore = false
+
+  const dispatch = (block: string) => {
+    let event = 'message'
+    const data: string[] = []
+    for (const line of block.split(/\r?\n/)) {
+      if (line.startsWith(':')) {
+        continue
+      }
+      const separator = line.indexOf(':')
+      const field = separator === -1 ? line : line.slice(0, separator)
+      const value = separator === -1 ? '' : line.slice(separator + 1).replace(/^ /, '')
+      if (field === 'event') {
+        event = value
+      } else if (field === 'data') {
+        data.push(value)
+      }
+    }
+    if (event === 'transaction') {
+      handlers.onTransaction(JSON.parse(data.join('\n')) as Transaction)
+    } else if (event === 'balance') {
+      handlers.onBalance(JSON.parse(data.join('\n')) as AccountBalance)
+    } else if (event === 'resync') {
+      handlers.onResync()
+    }
+  }
+
+  const connect = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        const response = await fetch(`${api.defaults.baseURL}/api/accounts/events`, {
+          headers: { Accept: 'text/event-stream', Authorization: `Bearer ${token}` },
+          signal: controller.signal,
+        })
+        if (response.status === 401) {
+          handlers.onUnauthorized()
+          return
+        }
+        if (!response.ok || !response.body) {
+          throw new Error(`Feed responded with ${response.status}`)
+        }
+        if (connectedBefore) {
+          handlers.onResync()
+        }
+        connectedBefore = true
+        retryDelay = 1000
+
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader()
+        let buffer = ''
+        for (;;) {
+          const { value, done } = await reader.read()
+          if (done) {
+            break
+          }
+          buffer += value
+          const blocks = buffer.split(/\r?\n\r?\n/)
+          buffer = blocks.pop() ?? ''
+          blocks.forEach(dispatch)
+        }
+      } catch {
+        if (controller.signal.aborted) {
+          return
+        }
+      }
+      await new Promise((resolve) => window.setTimeout(resolve, retryDelay))
+      retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MS)
+    }
+  }
+
+  connect()
+  return () => controller.abort()
+}
@@ -1,10 +1,45 @@
+import { useEffect } from 'react'
 import { NavLink, Outlet, useNavigate } from 'react-router-dom'
+import { accountsApi } from '../api/accounts'
+import { openAccountFeed } from '../api/feed'
+import { transactionsApi } from '../api/transactions'
+import { useAccountsStore } from '../store/accountsStore'
 import { useAuthStore } from '../store/authStore'
+import { useTransactionsStore } from '../store/transactionsStore'
+
+// Refetches what the feed may have missed; pages load their own data on navigation.
+const resync = async () => {
+  try {
+    useAccountsStore.getState().mergeAccounts(await accountsApi.list())
+    const { accountId, setTransactions } = useTransactionsStore.getState()
+    if (accountId) {
+      setTransactions(accountId, await transactionsApi.history(accountId))
+    }
+  } catch {
+    // The next resync or page load catches up.
+  }
+}
 
 function AppLayout() {
+  const token = useAuthStore((state) => state.token)
   const clearToken = useAuthStore((state) => state.clearToken)
   const navigate = useNavigate()
 
+  useEffect(() => {
+    if (!token) {
+      return
+    }
+    return openAccountFeed(token, {
+      onTransaction: useTransactionsStore.getState().applyTransaction,
+      onBalance: useAccountsStore.getState().applyBalance,
+      onResync: resync,
+      onUnauthorized: () => {
+        clearToken()
+        navigate('/login')
+      },
+    })
+  }, [token, clearToken, navigate])
+
   const handleLogout = () => {
     clearToken()
     navigate('/login')
@@ -12,6 +12,8 @@ function AccountDetailPage() {
   const navigate = useNavigate()
   const upsertAccount = useAccountsStore((state) => state.upsertAccount)
   const removeAccount = useAccountsStore((state) => state.removeAccount)
+  // Kept current by the account feed.
+  const liveBalance = useAccountsStore((state) => state.accounts.find((item) => item.id === id)?.balance)
   const [account, setAccount] = useState<Account | null>(null)
   const [loading, setLoading] = useState(false)
   const [error, setError] = useState('')
@@ -130,7 +132,7 @@ function AccountDetailPage() {
           <h3>Balance snapshot</h3>
           <div className="stat">
             <span className="stat-label">Current balance</span>
-            <span className="stat-value">{formatCurrency(account.balance)}</span>
+            <span className="stat-value">{formatCurrency(liveBalance ?? account.balance)}</span>
           </div>
           <div className="stat-grid">
             <div>
@@ -4,7 +4,7 @@ import { accountsApi } from '../api/accounts'
 import { getErrorMessage } from '../api/errors'
 import { transactionsApi } from '../api/transactions'
 import type { Account } from '../types'
-import { formatCurrency, formatDateTime } from '../utils/format'
+import { formatCurrency, formatDateTime, statusPillClass } from '../utils/format'
 import { pushToast } from '../store/toastStore'
 import { useTransactionsStore } from '../store/transactionsStore'
 import { useAccountsStore } from '../store/accountsStore'
@@ -31,7 +31,7 @@ function HistoryPage() {
           transactionsApi.history(id),
         ])
         setAccount(accountData)
-        setTransactions(historyData)
+        setTransactions(id, historyData)
         upsertAccount(accountData)
       } catch (err) {
         const message = getErrorMessage(err, 'Could not load transaction history.')
@@ -81,7 +81,7 @@ function HistoryPage() {
               </div>
               {transactions.map((transaction) => (
                 <div className="table-row" key={transaction.id}>
-                  <span className={`status-pill ${transaction.status === 'SUCCESS' ? 'ok' : 'fail'}`}>
+                  <span className={`status-pill ${statusPillClass(transaction.status)}`}>
                     {transaction.status}
                   </span>
                   <span>{transaction.fromAccountNumber}</span>
@@ -3,7 +3,7 @@ import { useSearchParams } from 'react-router-dom'
 import { transactionsApi } from '../api/transactions'
 import { getErrorMessage } from '../api/errors'
 import type { TransferResponse } from '../types'
-import { formatCurrency, formatDateTime } from '../utils/format'
+import { formatCurrency, formatDateTime, statusPillClass } from '../utils/format'
 import { pushToast } from '../store/toastStore'
 
 function TransferPage() {
@@ -98,7 +98,7 @@ function TransferPage() {
           <h3>Latest transfer</h3>
           {result ? (
             <div className="transfer-result">
-              <div className={`status-pill ${result.status === 'SUCCESS' ? 'ok' : 'fail'}`}>
+              <div className={`status-pill ${statusPillClass(result.status)}`}>
                 {result.status}
               </div>
               <p className="result-message">{result.message}</p>
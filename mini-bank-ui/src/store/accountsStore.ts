@@ -1,16 +1,21 @@
 import { create } from 'zustand'
-import type { Account } from '../types'
+import type { Account, AccountBalance } from '../types'
 
 type AccountsState = {
   accounts: Account[]
+  // Version of the last pushed balance per account; older pushes are ignored.
+  balanceVersions: Record<string, number>
   setAccounts: (accounts: Account[]) => void
   upsertAccount: (account: Account) => void
+  mergeAccounts: (accounts: Account[]) => void
+  applyBalance: (balance: AccountBalance) => void
   removeAccount: (id: string) => void
   clearAccounts: () => void
 }
 
 export const useAccountsStore = create<AccountsState>((set) => ({
   accounts: [],
+  balanceVersions: {},
   setAccounts: (accounts) => set({ accounts }),
   upsertAccount: (account) =>
     set((state) => {
@@ -22,9 +27,29 @@ export const useAccountsStore = create<AccountsState>((set) => ({
       next[existingIndex] = account
       return { accounts: next }
     }),
+  mergeAccounts: (accounts) =>
+    set((state) => {
+      const fresh = new Map(accounts.map((account) => [account.id, account]))
+      return {
+        accounts: state.accounts.map((account) => fresh.get(account.id) ?? account),
+        balanceVersions: {},
+      }
+    }),
+  applyBalance: ({ accountId, balance, version }) =>
+    set((state) => {
+      if ((state.balanceVersions[accountId] ?? -1) >= version) {
+        return state
+      }
+      return {
+        accounts: state.accounts.map((account) =>
+          account.id === accountId ? { ...account, balance } : account,
+        ),
+        balanceVersions: { ...state.balanceVersions, [accountId]: version },
+      }
+    }),
   removeAccount: (id) =>
     set((state) => ({
       accounts: state.accounts.filter((account) => account.id !== id),
     })),
-  clearAccounts: () => set({ accounts: [] }),
+  clearAccounts: () => set({ accounts: [], balanceVersions: {} }),
 }))
@@ -2,13 +2,30 @@ import { create } from 'zustand'
 import type { Transaction } from '../types'
 
 type TransactionsState = {
+  // Account whose history is loaded.
+  accountId: string | null
   transactions: Transaction[]
-  setTransactions: (transactions: Transaction[]) => void
+  setTransactions: (accountId: string, transactions: Transaction[]) => void
+  applyTransaction: (transaction: Transaction) => void
   clearTransactions: () => void
 }
 
 export const useTransactionsStore = create<TransactionsState>((set) => ({
+  accountId: null,
   transactions: [],
-  setTransactions: (transactions) => set({ transactions }),
-  clearTransactions: () => set({ transactions: [] }),
+  setTransactions: (accountId, transactions) => set({ accountId, transactions }),
+  applyTransaction: (transaction) =>
+    set((state) => {
+      if (transaction.fromAccountId !== state.accountId && transaction.toAccountId !== state.accountId) {
+        return state
+      }
+      const existingIndex = state.transactions.findIndex((item) => item.id === transaction.id)
+      if (existingIndex === -1) {
+        return { transactions: [transaction, ...state.transactions] }
+      }
+      const next = [...state.transactions]
+      next[existingIndex] = transaction
+      return { transactions: next }
+    }),
+  clearTransactions: () => set({ accountId: null, transactions: [] }),
 }))
@@ -21,12 +21,19 @@ export type Transaction = {
   toAccountNumber: string
   amount: string
   transactionDate: string
-  status: 'SUCCESS' | 'FAILED'
+  settledAt: string | null
+  status: 'PENDING' | 'SUCCESS' | 'FAILED'
+}
+
+export type AccountBalance = {
+  accountId: string
+  balance: string
+  version: number
 }
 
 export type TransferResponse = {
   transactionId: number
-  status: 'SUCCESS' | 'FAILED'
+  status: 'PENDING' | 'SUCCESS' | 'FAILED'
   message: string
   fromAccountId: string
   fromAccountNumber: string
@@ -19,3 +19,10 @@ export const formatDateTime = (value: string) => {
     timeStyle: 'short',
   }).format(date)
 }
+
+export const statusPillClass = (status: 'PENDING' | 'SUCCESS' | 'FAILED') => {
+  if (status === 'SUCCESS') {
+    return 'ok'
+  }
+  return status === 'PENDING' ? 'pending' : 'fail'
+}
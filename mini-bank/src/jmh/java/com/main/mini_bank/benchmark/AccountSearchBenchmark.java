@@ -0,0 +1,48 @@
+package com.main.mini_bank.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.main.mini_bank.service.AccountService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Account search for an owner of {@link BankContext#ACCOUNTS} accounts, including mapping the matches to
+ * response DTOs. Each query matches ten accounts.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AccountSearchBenchmark {
+
+    private AccountService accountService;
+
+    @Setup(Level.Trial)
+    public void prepare(BankContext bank) {
+        bank.authenticate();
+        accountService = bank.bean(AccountService.class);
+    }
+
+    @Benchmark
+    public Object searchByNumber() {
+        return accountService.search("bnc-012", null, null, null, null);
+    }
+
+    @Benchmark
+    public Object searchByName() {
+        return accountService.search(null, "ACCOUNT 034", null, null, null);
+    }
+}
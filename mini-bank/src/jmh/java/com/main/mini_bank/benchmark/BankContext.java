@@ -0,0 +1,101 @@
+package com.main.mini_bank.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.main.mini_bank.MiniBankApplication;
+import com.main.mini_bank.model.dto.request.TransferRequest;
+import com.main.mini_bank.model.entity.Account;
+import com.main.mini_bank.model.entity.User;
+import com.main.mini_bank.model.security.AuthenticatedUser;
+import com.main.mini_bank.repository.AccountRepository;
+import com.main.mini_bank.repository.UserRepository;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Boots the application once per fork against an in-memory H2 database and seeds the same dataset on
+ * every run: one owner with {@link #ACCOUNTS} accounts named and numbered by index, each opened with
+ * {@link #OPENING_BALANCE}. Benchmarks that need more data seed it in their own trial setup.
+ */
+@State(Scope.Benchmark)
+public class BankContext {
+
+    public static final int ACCOUNTS = 1000;
+    public static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000.00");
+    public static final BigDecimal TRANSFER_AMOUNT = new BigDecimal("0.01");
+
+    private ConfigurableApplicationContext context;
+    private AuthenticatedUser owner;
+    private List<Account> accounts;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(MiniBankApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("benchmark")
+            .run();
+
+        User user = new User();
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@example.com");
+        user.setPassword("{noop}benchmark");
+        user = bean(UserRepository.class).save(user);
+        owner = new AuthenticatedUser(user.getId(), user.getUsername(), null);
+
+        List<Account> seeded = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account();
+            account.setNumber(number(i));
+            account.setName(String.format(Locale.ROOT, "Benchmark account %04d", i));
+            account.setBalance(OPENING_BALANCE);
+            account.setUser(user);
+            seeded.add(account);
+        }
+        accounts = bean(AccountRepository.class).saveAll(seeded);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public List<Account> accounts() {
+        return accounts;
+    }
+
+    // Services resolve the caller from the security context, which is per thread.
+    public void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated(owner, null, owner.getAuthorities())
+        );
+    }
+
+    public static String number(int index) {
+        return String.format(Locale.ROOT, "BNC-%04d", index);
+    }
+
+    public static TransferRequest transferRequest(int fromIndex, int toIndex) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber(number(fromIndex));
+        request.setToAccountNumber(number(toIndex));
+        request.setAmount(TRANSFER_AMOUNT);
+        return request;
+    }
+}
@@ -0,0 +1,71 @@
+package com.main.mini_bank.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.main.mini_bank.model.dto.request.BatchTransferRequest;
+import com.main.mini_bank.model.dto.request.TransferRequest;
+import com.main.mini_bank.service.TransactionService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Fifty transfers applied as one batch versus fifty single transfers; scores are per transfer. The batch
+ * path locks all accounts in one statement and writes the ledger through pooled sequence ids and JDBC
+ * insert batching, so the gap between the two measures both.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchTransferBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+
+    private TransactionService transactionService;
+    private List<TransferRequest> transfers;
+    private BatchTransferRequest batch;
+
+    @Setup(Level.Trial)
+    public void prepare(BankContext bank) {
+        bank.authenticate();
+        transactionService = bank.bean(TransactionService.class);
+
+        // Disjoint pairs, so every item in the batch succeeds and touches two distinct accounts.
+        transfers = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            transfers.add(BankContext.transferRequest(2 * i, 2 * i + 1));
+        }
+        batch = new BatchTransferRequest();
+        batch.setTransfers(transfers);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Object batch() {
+        return transactionService.transferBatch(batch);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void singles(Blackhole blackhole) {
+        for (TransferRequest transfer : transfers) {
+            blackhole.consume(transactionService.transfer(transfer));
+        }
+    }
+}
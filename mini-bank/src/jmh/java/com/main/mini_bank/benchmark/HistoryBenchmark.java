@@ -0,0 +1,93 @@
+package com.main.mini_bank.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.main.mini_bank.service.TransactionService;
+import com.main.mini_bank.utils.HistoryCursor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * History pages for an account with {@link #ledgerRows} ledger rows, split evenly between outgoing and
+ * incoming transfers: the newest page and a page half way down reached through its keyset cursor. The
+ * ledger is seeded with plain inserts rather than transfers, so millions of rows take seconds, not hours.
+ * The default sizes keep a full benchmark run short; larger ledgers are run on demand with
+ * {@code -Dbenchmark.include="HistoryBenchmark -p ledgerRows=5000000"}.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HistoryBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 100_000;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000", "1000000"})
+    public int ledgerRows;
+
+    private TransactionService transactionService;
+    private UUID accountId;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void seed(BankContext bank) {
+        bank.authenticate();
+        transactionService = bank.bean(TransactionService.class);
+        JdbcTemplate jdbcTemplate = bank.bean(JdbcTemplate.class);
+        accountId = bank.accounts().get(0).getId();
+        UUID otherId = bank.accounts().get(1).getId();
+
+        // One row a second going back from now, alternating direction; ids come from the ledger's sequence.
+        for (int seeded = 0; seeded < ledgerRows; seeded += SEED_BATCH_SIZE) {
+            jdbcTemplate.update(
+                """
+                insert into transactions (id, from_account_id, to_account_id, amount, transaction_date, status)
+                select next value for transactions_seq,
+                       case when mod(x, 2) = 0 then ? else ? end,
+                       case when mod(x, 2) = 0 then ? else ? end,
+                       ?, dateadd(second, -x, localtimestamp), 'SUCCESS'
+                from system_range(?, ?)
+                """,
+                accountId, otherId, otherId, accountId, BankContext.TRANSFER_AMOUNT,
+                seeded + 1, Math.min(seeded + SEED_BATCH_SIZE, ledgerRows)
+            );
+        }
+
+        HistoryCursor middle = jdbcTemplate.queryForObject(
+            """
+            select transaction_date, id from transactions
+            order by transaction_date desc, id desc
+            offset ? rows fetch next 1 row only
+            """,
+            (rs, rowNum) -> new HistoryCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)),
+            ledgerRows / 2
+        );
+        deepCursor = middle.encode();
+    }
+
+    @Benchmark
+    public Object firstPage() {
+        return transactionService.historyPage(accountId, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object deepPage() {
+        return transactionService.historyPage(accountId, deepCursor, PAGE_SIZE);
+    }
+}
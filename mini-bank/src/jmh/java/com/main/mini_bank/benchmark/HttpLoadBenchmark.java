@@ -0,0 +1,153 @@
+package com.main.mini_bank.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import com.main.mini_bank.MiniBankApplication;
+import com.main.mini_bank.model.entity.Account;
+import com.main.mini_bank.model.entity.User;
+import com.main.mini_bank.model.security.AuthenticatedUser;
+import com.main.mini_bank.repository.AccountRepository;
+import com.main.mini_bank.repository.UserRepository;
+import com.main.mini_bank.service.JwtService;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Transfers over HTTP through a real Tomcat, on platform threads and with the {@code virtual-threads}
+ * profile, at the same heap. {@link #CLIENTS} callers each keep one request in flight, more than Tomcat's
+ * 200 platform request threads, and report the latency distribution; every request blocks on JDBC while it
+ * locks, writes and commits. Callers that hit the same accounts wait on each other's row locks. Requests
+ * refused with 503 because no pooled connection freed up in time are counted as {@code rejected}.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class HttpLoadBenchmark {
+
+    private static final int CLIENTS = 400;
+    private static final int ACCOUNTS = 1000;
+
+    @Param({"platform", "virtual-threads"})
+    public String threads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private URI transferUri;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void start() {
+        List<String> profiles = new ArrayList<>(List.of("benchmark"));
+        if (threads.equals("virtual-threads")) {
+            profiles.add("virtual-threads");
+        }
+        context = new SpringApplicationBuilder(MiniBankApplication.class)
+            .profiles(profiles.toArray(String[]::new))
+            .properties("server.port=0")
+            .run();
+
+        User user = new User();
+        user.setUsername("load");
+        user.setEmail("load@example.com");
+        user.setPassword("{noop}load");
+        user = context.getBean(UserRepository.class).save(user);
+
+        List<Account> accounts = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account();
+            account.setNumber(number(i));
+            account.setName(String.format(Locale.ROOT, "Load account %04d", i));
+            account.setBalance(BankContext.OPENING_BALANCE);
+            account.setUser(user);
+            accounts.add(account);
+        }
+        context.getBean(AccountRepository.class).saveAll(accounts);
+
+        String token = context.getBean(JwtService.class)
+            .generateToken(new AuthenticatedUser(user.getId(), user.getUsername(), null));
+        authorization = "Bearer " + token;
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        transferUri = URI.create("http://localhost:" + port + "/api/transactions/transfer");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        httpClient.close();
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Caller {
+
+        public long rejected;
+
+        private int next;
+
+        @Setup(Level.Trial)
+        public void spread(ThreadParams threadParams) {
+            next = threadParams.getThreadIndex() * 2;
+        }
+    }
+
+    @Benchmark
+    @Threads(CLIENTS)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int transfer(Caller caller) throws IOException, InterruptedException {
+        int from = caller.next++ % ACCOUNTS;
+        String body = String.format(
+            Locale.ROOT,
+            "{\"fromAccountNumber\":\"%s\",\"toAccountNumber\":\"%s\",\"amount\":%s}",
+            number(from),
+            number((from + 1) % ACCOUNTS),
+            BankContext.TRANSFER_AMOUNT
+        );
+        HttpResponse<Void> response = httpClient.send(
+            HttpRequest.newBuilder(transferUri)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(),
+            HttpResponse.BodyHandlers.discarding()
+        );
+        if (response.statusCode() == 503) {
+            caller.rejected++;
+        } else if (response.statusCode() != 200) {
+            throw new IllegalStateException("Transfer returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    private static String number(int index) {
+        return String.format(Locale.ROOT, "LD-%04d", index);
+    }
+}
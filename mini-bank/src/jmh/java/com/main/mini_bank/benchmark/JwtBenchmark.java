@@ -0,0 +1,55 @@
+package com.main.mini_bank.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.main.mini_bank.config.JwtProperties;
+import com.main.mini_bank.model.security.AuthenticatedUser;
+import com.main.mini_bank.service.JwtService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Token signing and verification as done on login and on every authenticated request; no Spring context.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private AuthenticatedUser user;
+    private String token;
+
+    @Setup
+    public void prepare() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("benchmark-secret-benchmark-secret-1234");
+        properties.setAccessTokenValidityMinutes(60);
+        jwtService = new JwtService(properties);
+        user = new AuthenticatedUser(UUID.fromString("00000000-0000-0000-0000-000000000001"), "benchmark", null);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyToken() {
+        return jwtService.verifyToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+}
@@ -0,0 +1,87 @@
+package com.main.mini_bank.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.main.mini_bank.enums.TransactionStatus;
+import com.main.mini_bank.model.dto.response.AccountResponse;
+import com.main.mini_bank.model.dto.response.TransactionResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * JSON serialization of a history page and an account list, with an ObjectMapper configured the way the
+ * application's message converters configure theirs; no Spring context.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializationBenchmark {
+
+    private static final int ITEMS = 50;
+
+    private ObjectMapper objectMapper;
+    private List<TransactionResponse> historyPage;
+    private List<AccountResponse> accounts;
+
+    @Setup
+    public void prepare() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        LocalDateTime date = LocalDateTime.of(2024, 1, 1, 12, 0);
+        historyPage = new ArrayList<>(ITEMS);
+        accounts = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            UUID from = new UUID(0, 2L * i);
+            UUID to = new UUID(0, 2L * i + 1);
+            historyPage.add(new TransactionResponse(
+                (long) i,
+                from,
+                BankContext.number(2 * i),
+                to,
+                BankContext.number(2 * i + 1),
+                new BigDecimal("12.34"),
+                date.minusMinutes(i),
+                date.minusMinutes(i),
+                TransactionStatus.SUCCESS
+            ));
+            accounts.add(new AccountResponse(
+                from,
+                BankContext.number(2 * i),
+                "Benchmark account " + i,
+                BankContext.OPENING_BALANCE,
+                date,
+                date
+            ));
+        }
+    }
+
+    @Benchmark
+    public byte[] historyPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(historyPage);
+    }
+
+    @Benchmark
+    public byte[] accountList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(accounts);
+    }
+}
@@ -0,0 +1,85 @@
+package com.main.mini_bank.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.main.mini_bank.config.TransferProperties;
+import com.main.mini_bank.enums.LockingStrategy;
+import com.main.mini_bank.service.TransactionService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Single transfers under both locking strategies. {@code transfer} spreads one caller over all accounts,
+ * so there is no contention; {@code transferContended} has four callers moving money around a ring of
+ * {@link #CONTENDED_ACCOUNTS} accounts and reports the latency distribution, including p99.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransferBenchmark {
+
+    private static final int CONTENDED_ACCOUNTS = 4;
+
+    @Param({"PESSIMISTIC", "OPTIMISTIC", "CONDITIONAL_UPDATE"})
+    public LockingStrategy lockingStrategy;
+
+    private TransactionService transactionService;
+
+    @Setup(Level.Trial)
+    public void configure(BankContext bank) {
+        bank.bean(TransferProperties.class).setLockingStrategy(lockingStrategy);
+        transactionService = bank.bean(TransactionService.class);
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+
+        private int next;
+
+        @Setup(Level.Trial)
+        public void login(BankContext bank, ThreadParams threadParams) {
+            bank.authenticate();
+            next = threadParams.getThreadIndex();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Object transfer(Caller caller) {
+        int from = caller.next++ % BankContext.ACCOUNTS;
+        return transactionService.transfer(BankContext.transferRequest(from, (from + 1) % BankContext.ACCOUNTS));
+    }
+
+    @Benchmark
+    @Threads(4)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void transferContended(Caller caller, Blackhole blackhole) {
+        int from = caller.next++ % CONTENDED_ACCOUNTS;
+        try {
+            blackhole.consume(transactionService.transfer(
+                BankContext.transferRequest(from, (from + 1) % CONTENDED_ACCOUNTS)
+            ));
+        } catch (ResponseStatusException ex) {
+            // Optimistic attempts exhausted under contention; counted in the latency like any response.
+            blackhole.consume(ex);
+        }
+    }
+}
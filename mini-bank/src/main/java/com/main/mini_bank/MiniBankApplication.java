@@ -4,12 +4,30 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import com.main.mini_bank.config.AdminProperties;
+import com.main.mini_bank.config.FeedProperties;
 import com.main.mini_bank.config.JwtProperties;
+import com.main.mini_bank.config.LedgerPartitionProperties;
+import com.main.mini_bank.config.OutboxProperties;
+import com.main.mini_bank.config.PasswordProperties;
+import com.main.mini_bank.config.ReplicaProperties;
+import com.main.mini_bank.config.TransferProperties;
 
 @SpringBootApplication
 @EnableJpaAuditing
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableScheduling
+@EnableConfigurationProperties({
+    JwtProperties.class,
+    TransferProperties.class,
+    LedgerPartitionProperties.class,
+    OutboxProperties.class,
+    ReplicaProperties.class,
+    FeedProperties.class,
+    PasswordProperties.class,
+    AdminProperties.class
+})
 public class MiniBankApplication {
 
 	public static void main(String[] args) {
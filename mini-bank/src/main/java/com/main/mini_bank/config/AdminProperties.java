@@ -0,0 +1,21 @@
+package com.main.mini_bank.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.security.admin")
+public class AdminProperties {
+
+    // Users granted ROLE_ADMIN, which operator writes on actuator (flagging hot accounts) require.
+    private List<String> usernames = new ArrayList<>();
+
+    public List<String> getUsernames() {
+        return usernames;
+    }
+
+    public void setUsernames(List<String> usernames) {
+        this.usernames = usernames;
+    }
+}
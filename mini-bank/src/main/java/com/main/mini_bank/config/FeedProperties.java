@@ -0,0 +1,62 @@
+package com.main.mini_bank.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "app.feed")
+public class FeedProperties {
+
+    // Events buffered per connection; a connection that falls further behind is told to resync.
+    @NotNull
+    @Positive
+    private Integer bufferSize = 256;
+
+    @NotNull
+    @Positive
+    private Integer maxConnectionsPerUser = 4;
+
+    @NotNull
+    @Positive
+    private Integer heartbeatIntervalMs = 15000;
+
+    // Threads writing to connections; a slow client occupies one only while its socket is blocked.
+    @NotNull
+    @Positive
+    private Integer senderThreads = 4;
+
+    public Integer getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(Integer bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Integer getMaxConnectionsPerUser() {
+        return maxConnectionsPerUser;
+    }
+
+    public void setMaxConnectionsPerUser(Integer maxConnectionsPerUser) {
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+    }
+
+    public Integer getHeartbeatIntervalMs() {
+        return heartbeatIntervalMs;
+    }
+
+    public void setHeartbeatIntervalMs(Integer heartbeatIntervalMs) {
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+    }
+
+    public Integer getSenderThreads() {
+        return senderThreads;
+    }
+
+    public void setSenderThreads(Integer senderThreads) {
+        this.senderThreads = senderThreads;
+    }
+}
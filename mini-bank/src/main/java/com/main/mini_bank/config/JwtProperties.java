@@ -20,6 +20,14 @@ public class JwtProperties {
     @Positive
     private Integer accessTokenValidityMinutes;
 
+    @NotNull
+    @Positive
+    private Integer authCacheMaxSize = 10_000;
+
+    @NotNull
+    @Positive
+    private Integer authCacheTtlSeconds = 300;
+
     public String getSecret() {
         return secret;
     }
@@ -35,4 +43,20 @@ public class JwtProperties {
     public void setAccessTokenValidityMinutes(Integer accessTokenValidityMinutes) {
         this.accessTokenValidityMinutes = accessTokenValidityMinutes;
     }
+
+    public Integer getAuthCacheMaxSize() {
+        return authCacheMaxSize;
+    }
+
+    public void setAuthCacheMaxSize(Integer authCacheMaxSize) {
+        this.authCacheMaxSize = authCacheMaxSize;
+    }
+
+    public Integer getAuthCacheTtlSeconds() {
+        return authCacheTtlSeconds;
+    }
+
+    public void setAuthCacheTtlSeconds(Integer authCacheTtlSeconds) {
+        this.authCacheTtlSeconds = authCacheTtlSeconds;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.main.mini_bank.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "app.ledger.partitions")
+public class LedgerPartitionProperties {
+
+    @NotNull
+    private Boolean enabled = true;
+
+    @NotNull
+    @PositiveOrZero
+    private Integer monthsAhead = 3;
+
+    @NotNull
+    @Positive
+    private Integer archiveAfterMonths = 12;
+
+    // Blank disables the archive report. Compared with catalog names, so restricted to plain lower-case names.
+    @Pattern(regexp = "|[a-z_][a-z0-9_]*", message = "Archive tablespace must be a plain lower-case identifier")
+    private String archiveTablespace = "";
+
+    @NotNull
+    @Positive
+    private Integer maintenanceIntervalMs = 86_400_000;
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Integer getMonthsAhead() {
+        return monthsAhead;
+    }
+
+    public void setMonthsAhead(Integer monthsAhead) {
+        this.monthsAhead = monthsAhead;
+    }
+
+    public Integer getArchiveAfterMonths() {
+        return archiveAfterMonths;
+    }
+
+    public void setArchiveAfterMonths(Integer archiveAfterMonths) {
+        this.archiveAfterMonths = archiveAfterMonths;
+    }
+
+    public String getArchiveTablespace() {
+        return archiveTablespace;
+    }
+
+    public void setArchiveTablespace(String archiveTablespace) {
+        this.archiveTablespace = archiveTablespace;
+    }
+
+    public Integer getMaintenanceIntervalMs() {
+        return maintenanceIntervalMs;
+    }
+
+    public void setMaintenanceIntervalMs(Integer maintenanceIntervalMs) {
+        this.maintenanceIntervalMs = maintenanceIntervalMs;
+    }
+}
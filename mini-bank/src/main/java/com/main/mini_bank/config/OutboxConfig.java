@@ -0,0 +1,38 @@
+package com.main.mini_bank.config;
+
+import java.nio.file.Path;
+
+import javax.sql.DataSource;
+
+import com.main.mini_bank.enums.OutboxSinkType;
+import com.main.mini_bank.service.DatabaseEventLog;
+import com.main.mini_bank.service.EventLog;
+import com.main.mini_bank.service.FileEventLog;
+import com.main.mini_bank.service.InMemoryEventLog;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public EventLog eventLog(
+        OutboxProperties outboxProperties,
+        DataSource dataSource,
+        PlatformTransactionManager transactionManager,
+        Environment environment
+    ) {
+        // A file on one instance's disk is lost with the instance and invisible to the others.
+        if (outboxProperties.getSink() == OutboxSinkType.FILE && !environment.matchesProfiles("dev")) {
+            throw new IllegalStateException("The file outbox sink is for local development; activate the dev profile");
+        }
+        return switch (outboxProperties.getSink()) {
+            case DATABASE -> new DatabaseEventLog(dataSource, transactionManager);
+            case FILE -> new FileEventLog(Path.of(outboxProperties.getFilePath()));
+            case MEMORY -> new InMemoryEventLog();
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.main.mini_bank.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import com.main.mini_bank.enums.OutboxSinkType;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    @NotNull
+    private OutboxSinkType sink = OutboxSinkType.DATABASE;
+
+    // Event log file for the file sink (dev profile only); consumer offsets are kept in a directory next to it.
+    @NotBlank
+    private String filePath = "data/transfer-events.ndjson";
+
+    @NotNull
+    @Positive
+    private Integer relayIntervalMs = 1000;
+
+    @NotNull
+    @Positive
+    private Integer relayBatchSize = 500;
+
+    public OutboxSinkType getSink() {
+        return sink;
+    }
+
+    public void setSink(OutboxSinkType sink) {
+        this.sink = sink;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public Integer getRelayIntervalMs() {
+        return relayIntervalMs;
+    }
+
+    public void setRelayIntervalMs(Integer relayIntervalMs) {
+        this.relayIntervalMs = relayIntervalMs;
+    }
+
+    public Integer getRelayBatchSize() {
+        return relayBatchSize;
+    }
+
+    public void setRelayBatchSize(Integer relayBatchSize) {
+        this.relayBatchSize = relayBatchSize;
+    }
+}
@@ -0,0 +1,55 @@
+package com.main.mini_bank.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "app.security.password")
+public class PasswordProperties {
+
+    // BCrypt cost for new hashes; stored hashes with a lower cost are upgraded at the user's next login.
+    @NotNull
+    @Min(4)
+    @Max(31)
+    private Integer bcryptStrength = 10;
+
+    // Threads hashing and checking passwords; 0 means one per available processor.
+    @NotNull
+    @PositiveOrZero
+    private Integer hashingThreads = 0;
+
+    // Sign-ins and registrations waiting for a hashing thread before further ones are refused with 503.
+    @NotNull
+    @Positive
+    private Integer hashingQueueCapacity = 64;
+
+    public Integer getBcryptStrength() {
+        return bcryptStrength;
+    }
+
+    public void setBcryptStrength(Integer bcryptStrength) {
+        this.bcryptStrength = bcryptStrength;
+    }
+
+    public Integer getHashingThreads() {
+        return hashingThreads;
+    }
+
+    public void setHashingThreads(Integer hashingThreads) {
+        this.hashingThreads = hashingThreads;
+    }
+
+    public Integer getHashingQueueCapacity() {
+        return hashingQueueCapacity;
+    }
+
+    public void setHashingQueueCapacity(Integer hashingQueueCapacity) {
+        this.hashingQueueCapacity = hashingQueueCapacity;
+    }
+}
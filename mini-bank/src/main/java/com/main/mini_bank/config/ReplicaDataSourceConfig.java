@@ -0,0 +1,76 @@
+package com.main.mini_bank.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import com.main.mini_bank.utils.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Replaces the auto-configured data source when replicas are enabled. Read-only transactions (history,
+ * statements, account search and lookups) read from a healthy replica; everything else, including Flyway and
+ * work outside a transaction, uses the primary pool, which is configured through spring.datasource as before.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+        HikariDataSource primaryDataSource,
+        DataSourceProperties dataSourceProperties,
+        ReplicaProperties replicaProperties,
+        MeterRegistry meterRegistry
+    ) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        List<String> urls = replicaProperties.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setJdbcUrl(urls.get(i));
+            pool.setUsername(orDefault(replicaProperties.getUsername(), dataSourceProperties.determineUsername()));
+            pool.setPassword(orDefault(replicaProperties.getPassword(), dataSourceProperties.determinePassword()));
+            pool.setMaximumPoolSize(replicaProperties.getMaxPoolSize());
+            pool.setConnectionTimeout(replicaProperties.getConnectionTimeoutMs());
+            pool.setReadOnly(true);
+            // An unreachable replica must not stop startup; it stays out of rotation until it answers.
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaRoutingDataSource.Replica(pool.getPoolName(), pool));
+        }
+        return new ReplicaRoutingDataSource(
+            primaryDataSource,
+            replicas,
+            replicaProperties.getMaxLagSeconds(),
+            replicaProperties.getLagQuery()
+        );
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return ReplicaRoutingDataSource.routing(primaryDataSource, replicaRoutingDataSource);
+    }
+
+    private static String orDefault(String value, String fallback) {
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
@@ -0,0 +1,123 @@
+package com.main.mini_bank.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReplicaProperties {
+
+    @NotNull
+    private Boolean enabled = false;
+
+    @NotNull
+    private List<@NotBlank String> urls = new ArrayList<>();
+
+    // Blank falls back to spring.datasource.username / password.
+    private String username = "";
+
+    private String password = "";
+
+    @NotNull
+    @Positive
+    private Integer maxPoolSize = 10;
+
+    @NotNull
+    @Positive
+    private Integer connectionTimeoutMs = 2000;
+
+    // Replicas further behind than this are skipped until they catch up.
+    @NotNull
+    @PositiveOrZero
+    private Integer maxLagSeconds = 5;
+
+    @NotNull
+    @Positive
+    private Integer healthCheckIntervalMs = 5000;
+
+    // Must return the replica's lag in seconds as a single number; zero when it has replayed everything.
+    @NotBlank
+    private String lagQuery = "select case when not pg_is_in_recovery() then 0 "
+        + "when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+        + "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public Integer getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(Integer maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public Integer getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+
+    public void setConnectionTimeoutMs(Integer connectionTimeoutMs) {
+        this.connectionTimeoutMs = connectionTimeoutMs;
+    }
+
+    public Integer getMaxLagSeconds() {
+        return maxLagSeconds;
+    }
+
+    public void setMaxLagSeconds(Integer maxLagSeconds) {
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public Integer getHealthCheckIntervalMs() {
+        return healthCheckIntervalMs;
+    }
+
+    public void setHealthCheckIntervalMs(Integer healthCheckIntervalMs) {
+        this.healthCheckIntervalMs = healthCheckIntervalMs;
+    }
+
+    public String getLagQuery() {
+        return lagQuery;
+    }
+
+    public void setLagQuery(String lagQuery) {
+        this.lagQuery = lagQuery;
+    }
+}
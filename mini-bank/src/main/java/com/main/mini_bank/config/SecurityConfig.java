@@ -2,11 +2,22 @@ package com.main.mini_bank.config;
 
 import java.util.List;
 
+import com.main.mini_bank.controller.AccountController;
+import com.main.mini_bank.controller.TransactionController;
 import com.main.mini_bank.utils.JwtAuthenticationFilter;
 import com.main.mini_bank.utils.RestAuthenticationEntryPoint;
+import com.main.mini_bank.utils.TimedPasswordEncoder;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.DispatcherType;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementServerProperties;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
@@ -18,6 +29,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -38,14 +50,25 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+        HttpSecurity http,
+        ObjectProvider<ManagementServerProperties> managementServerProperties,
+        ObjectProvider<ServerProperties> serverProperties
+    ) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(Customizer.withDefaults())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Streaming responses complete on an async dispatch; the request was authorized on the initial one.
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/users/register", "/api/users/login").permitAll()
+                .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                // Operator writes change how transfers run, so they need an admin token on every port.
+                .requestMatchers(HttpMethod.POST, "/actuator/hotaccounts/**").hasRole("ADMIN")
+                // Metrics and other reads are open only on the management port; anywhere else they need a token.
+                .requestMatchers(managementPortReads(managementServerProperties, serverProperties)).permitAll()
                 .anyRequest().authenticated()
             )
             .exceptionHandling(handler -> handler
@@ -57,14 +80,35 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Matches only GET requests to a management port separate from the API port; none without a web server.
+    private static RequestMatcher managementPortReads(
+        ObjectProvider<ManagementServerProperties> managementProperties,
+        ObjectProvider<ServerProperties> serverProperties
+    ) {
+        ManagementServerProperties management = managementProperties.getIfAvailable();
+        ServerProperties server = serverProperties.getIfAvailable();
+        if (management == null || server == null) {
+            return request -> false;
+        }
+        Integer port = management.getPort();
+        int serverPort = server.getPort() == null ? 8080 : server.getPort();
+        if (port == null || port <= 0 || port == serverPort) {
+            return request -> false;
+        }
+        return request -> request.getLocalPort() == port && HttpMethod.GET.matches(request.getMethod());
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordProperties passwordProperties, MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(
+            new BCryptPasswordEncoder(passwordProperties.getBcryptStrength()),
+            meterRegistry
+        );
     }
 
     @Bean
@@ -72,7 +116,12 @@ public class SecurityConfig {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowedOrigins(List.of("http://localhost:5173", "http://localhost:3000"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-        config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        config.setAllowedHeaders(List.of("Authorization", "Content-Type", TransactionController.IDEMPOTENCY_KEY_HEADER));
+        config.setExposedHeaders(List.of(
+            TransactionController.NEXT_CURSOR_HEADER,
+            AccountController.TOTAL_COUNT_HEADER,
+            HttpHeaders.LOCATION
+        ));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
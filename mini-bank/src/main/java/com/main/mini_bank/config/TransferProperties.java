@@ -0,0 +1,246 @@
+package com.main.mini_bank.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import com.main.mini_bank.enums.LockingStrategy;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "app.transfers")
+public class TransferProperties {
+
+    @NotNull
+    @Positive
+    private Integer hotAccountFoldIntervalMs = 1000;
+
+    @NotNull
+    @Positive
+    private Integer hotAccountRefreshIntervalMs = 10_000;
+
+    // Account numbers flagged hot at startup, in addition to those already flagged in the database.
+    @NotNull
+    private List<@NotBlank String> hotAccounts = new ArrayList<>();
+
+    @NotNull
+    private LockingStrategy lockingStrategy = LockingStrategy.PESSIMISTIC;
+
+    @NotNull
+    @Positive
+    private Integer optimisticMaxAttempts = 5;
+
+    @NotNull
+    @PositiveOrZero
+    private Integer optimisticRetryBackoffMs = 5;
+
+    @NotNull
+    @Positive
+    private Integer accountDirectoryMaxSize = 100_000;
+
+    @NotNull
+    @Positive
+    private Integer accountDirectoryTtlSeconds = 600;
+
+    @NotNull
+    @Positive
+    private Integer idempotencyCacheMaxSize = 100_000;
+
+    @NotNull
+    @Positive
+    private Integer idempotencyKeyRetentionHours = 24;
+
+    @NotNull
+    @Positive
+    private Integer idempotencyPurgeIntervalMs = 3_600_000;
+
+    @NotNull
+    @Positive
+    private Integer asyncQueueCapacity = 10_000;
+
+    @NotNull
+    @Positive
+    private Integer asyncWorkers = 4;
+
+    @NotNull
+    @Positive
+    private Integer asyncMaxBatchSize = 100;
+
+    @NotNull
+    @Positive
+    private Integer asyncRecoveryIntervalMs = 60_000;
+
+    @NotNull
+    @Positive
+    private Integer balanceSnapshotIntervalMs = 3_600_000;
+
+    @NotNull
+    @PositiveOrZero
+    private Integer balanceSnapshotGraceMinutes = 5;
+
+    @NotNull
+    @Positive
+    private Integer journalCheckpointIntervalMs = 600_000;
+
+    @NotNull
+    @PositiveOrZero
+    private Integer journalCheckpointGraceMinutes = 5;
+
+    public Integer getHotAccountFoldIntervalMs() {
+        return hotAccountFoldIntervalMs;
+    }
+
+    public void setHotAccountFoldIntervalMs(Integer hotAccountFoldIntervalMs) {
+        this.hotAccountFoldIntervalMs = hotAccountFoldIntervalMs;
+    }
+
+    public Integer getHotAccountRefreshIntervalMs() {
+        return hotAccountRefreshIntervalMs;
+    }
+
+    public void setHotAccountRefreshIntervalMs(Integer hotAccountRefreshIntervalMs) {
+        this.hotAccountRefreshIntervalMs = hotAccountRefreshIntervalMs;
+    }
+
+    public List<String> getHotAccounts() {
+        return hotAccounts;
+    }
+
+    public void setHotAccounts(List<String> hotAccounts) {
+        this.hotAccounts = hotAccounts;
+    }
+
+    public LockingStrategy getLockingStrategy() {
+        return lockingStrategy;
+    }
+
+    public void setLockingStrategy(LockingStrategy lockingStrategy) {
+        this.lockingStrategy = lockingStrategy;
+    }
+
+    public Integer getOptimisticMaxAttempts() {
+        return optimisticMaxAttempts;
+    }
+
+    public void setOptimisticMaxAttempts(Integer optimisticMaxAttempts) {
+        this.optimisticMaxAttempts = optimisticMaxAttempts;
+    }
+
+    public Integer getOptimisticRetryBackoffMs() {
+        return optimisticRetryBackoffMs;
+    }
+
+    public void setOptimisticRetryBackoffMs(Integer optimisticRetryBackoffMs) {
+        this.optimisticRetryBackoffMs = optimisticRetryBackoffMs;
+    }
+
+    public Integer getAccountDirectoryMaxSize() {
+        return accountDirectoryMaxSize;
+    }
+
+    public void setAccountDirectoryMaxSize(Integer accountDirectoryMaxSize) {
+        this.accountDirectoryMaxSize = accountDirectoryMaxSize;
+    }
+
+    public Integer getAccountDirectoryTtlSeconds() {
+        return accountDirectoryTtlSeconds;
+    }
+
+    public void setAccountDirectoryTtlSeconds(Integer accountDirectoryTtlSeconds) {
+        this.accountDirectoryTtlSeconds = accountDirectoryTtlSeconds;
+    }
+
+    public Integer getIdempotencyCacheMaxSize() {
+        return idempotencyCacheMaxSize;
+    }
+
+    public void setIdempotencyCacheMaxSize(Integer idempotencyCacheMaxSize) {
+        this.idempotencyCacheMaxSize = idempotencyCacheMaxSize;
+    }
+
+    public Integer getIdempotencyKeyRetentionHours() {
+        return idempotencyKeyRetentionHours;
+    }
+
+    public void setIdempotencyKeyRetentionHours(Integer idempotencyKeyRetentionHours) {
+        this.idempotencyKeyRetentionHours = idempotencyKeyRetentionHours;
+    }
+
+    public Integer getIdempotencyPurgeIntervalMs() {
+        return idempotencyPurgeIntervalMs;
+    }
+
+    public void setIdempotencyPurgeIntervalMs(Integer idempotencyPurgeIntervalMs) {
+        this.idempotencyPurgeIntervalMs = idempotencyPurgeIntervalMs;
+    }
+
+    public Integer getAsyncQueueCapacity() {
+        return asyncQueueCapacity;
+    }
+
+    public void setAsyncQueueCapacity(Integer asyncQueueCapacity) {
+        this.asyncQueueCapacity = asyncQueueCapacity;
+    }
+
+    public Integer getAsyncWorkers() {
+        return asyncWorkers;
+    }
+
+    public void setAsyncWorkers(Integer asyncWorkers) {
+        this.asyncWorkers = asyncWorkers;
+    }
+
+    public Integer getAsyncMaxBatchSize() {
+        return asyncMaxBatchSize;
+    }
+
+    public void setAsyncMaxBatchSize(Integer asyncMaxBatchSize) {
+        this.asyncMaxBatchSize = asyncMaxBatchSize;
+    }
+
+    public Integer getAsyncRecoveryIntervalMs() {
+        return asyncRecoveryIntervalMs;
+    }
+
+    public void setAsyncRecoveryIntervalMs(Integer asyncRecoveryIntervalMs) {
+        this.asyncRecoveryIntervalMs = asyncRecoveryIntervalMs;
+    }
+
+    public Integer getBalanceSnapshotIntervalMs() {
+        return balanceSnapshotIntervalMs;
+    }
+
+    public void setBalanceSnapshotIntervalMs(Integer balanceSnapshotIntervalMs) {
+        this.balanceSnapshotIntervalMs = balanceSnapshotIntervalMs;
+    }
+
+    public Integer getBalanceSnapshotGraceMinutes() {
+        return balanceSnapshotGraceMinutes;
+    }
+
+    public void setBalanceSnapshotGraceMinutes(Integer balanceSnapshotGraceMinutes) {
+        this.balanceSnapshotGraceMinutes = balanceSnapshotGraceMinutes;
+    }
+
+    public Integer getJournalCheckpointIntervalMs() {
+        return journalCheckpointIntervalMs;
+    }
+
+    public void setJournalCheckpointIntervalMs(Integer journalCheckpointIntervalMs) {
+        this.journalCheckpointIntervalMs = journalCheckpointIntervalMs;
+    }
+
+    public Integer getJournalCheckpointGraceMinutes() {
+        return journalCheckpointGraceMinutes;
+    }
+
+    public void setJournalCheckpointGraceMinutes(Integer journalCheckpointGraceMinutes) {
+        this.journalCheckpointGraceMinutes = journalCheckpointGraceMinutes;
+    }
+}
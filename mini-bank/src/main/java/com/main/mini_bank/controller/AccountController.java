@@ -6,7 +6,11 @@ import java.util.UUID;
 import com.main.mini_bank.model.dto.request.AccountCreateRequest;
 import com.main.mini_bank.model.dto.response.AccountResponse;
 import com.main.mini_bank.model.dto.request.AccountUpdateRequest;
+import com.main.mini_bank.model.dto.response.StatementResponse;
+import com.main.mini_bank.service.AccountFeedService;
 import com.main.mini_bank.service.AccountService;
+import com.main.mini_bank.service.CurrentUserService;
+import com.main.mini_bank.service.StatementService;
 
 import jakarta.validation.Valid;
 
@@ -20,6 +24,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -30,6 +35,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/accounts")
@@ -37,10 +43,23 @@ import org.springframework.web.bind.annotation.RestController;
 @SecurityRequirement(name = "bearerAuth")
 public class AccountController {
 
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final AccountService accountService;
+    private final StatementService statementService;
+    private final AccountFeedService accountFeedService;
+    private final CurrentUserService currentUserService;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(
+        AccountService accountService,
+        StatementService statementService,
+        AccountFeedService accountFeedService,
+        CurrentUserService currentUserService
+    ) {
         this.accountService = accountService;
+        this.statementService = statementService;
+        this.accountFeedService = accountFeedService;
+        this.currentUserService = currentUserService;
     }
 
     @PostMapping
@@ -65,20 +84,52 @@ public class AccountController {
     @GetMapping
     @Operation(
         summary = "Search accounts",
-        description = "Returns accounts owned by the authenticated user. Filters by number and name using partial matches."
+        description = "Returns accounts owned by the authenticated user. Filters by number and name using "
+            + "case-insensitive partial matches. Pass page and/or size to page through results; the total "
+            + "number of matches is returned in the " + TOTAL_COUNT_HEADER + " response header."
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Accounts returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid page, size or sort",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
         @ApiResponse(responseCode = "401", description = "Unauthorized",
             content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class)))
     })
-    public List<AccountResponse> search(
+    public ResponseEntity<List<AccountResponse>> search(
         @Parameter(description = "Account number filter (partial match)")
         @RequestParam(required = false) String number,
         @Parameter(description = "Account name filter (partial match)")
-        @RequestParam(required = false) String name
+        @RequestParam(required = false) String name,
+        @Parameter(description = "Zero-based page index; enables pagination")
+        @RequestParam(required = false) Integer page,
+        @Parameter(description = "Page size (1-500, default 50); enables pagination")
+        @RequestParam(required = false) Integer size,
+        @Parameter(description = "Sort property (number, name, balance, createdAt) with optional ,asc or ,desc")
+        @RequestParam(required = false) String sort
     ) {
-        return accountService.search(number, name);
+        AccountService.AccountPage result = accountService.search(number, name, page, size, sort);
+        return ResponseEntity.ok()
+            .header(TOTAL_COUNT_HEADER, String.valueOf(result.total()))
+            .body(result.items());
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Account feed",
+        description = "Server-sent events for all accounts of the authenticated user, sent once a change commits: "
+            + "transaction (a transfer from or to one of them, in the shape of a history item), balance "
+            + "(accountId, balance and a version that increases with every change) and resync (events were "
+            + "dropped because the client fell behind; refetch accounts and history)."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Feed opened"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
+        @ApiResponse(responseCode = "429", description = "Too many open feeds for this user",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class)))
+    })
+    public SseEmitter events() {
+        return accountFeedService.subscribe(currentUserService.getCurrentUserId());
     }
 
     @GetMapping("/{id}")
@@ -97,6 +148,31 @@ public class AccountController {
         return accountService.getById(id);
     }
 
+    @GetMapping("/{id}/statement")
+    @Operation(
+        summary = "Account statement",
+        description = "Returns the opening and closing balance for a period of up to 366 days, with debit and "
+            + "credit totals for every day that had successful transfers. Access is restricted to the account owner."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Statement returned"),
+        @ApiResponse(responseCode = "400", description = "Missing or invalid period",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Account not found",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class)))
+    })
+    public StatementResponse statement(
+        @PathVariable UUID id,
+        @Parameter(description = "First day of the period (yyyy-MM-dd)")
+        @RequestParam(required = false) String from,
+        @Parameter(description = "Last day of the period, inclusive (yyyy-MM-dd)")
+        @RequestParam(required = false) String to
+    ) {
+        return statementService.statement(id, from, to);
+    }
+
     @PutMapping("/{id}")
     @Operation(
         summary = "Update account",
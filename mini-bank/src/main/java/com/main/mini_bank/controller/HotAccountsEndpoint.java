@@ -0,0 +1,44 @@
+package com.main.mini_bank.controller;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.main.mini_bank.service.HotAccountService;
+
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * Operator endpoint for hot accounts, served with the rest of actuator on the management port (loopback by
+ * default), not on the API port. GET /actuator/hotaccounts lists the hot account numbers this instance
+ * uses; POST /actuator/hotaccounts/{number} with {"hot": true|false} flags or unflags one and needs a
+ * bearer token of a user listed in app.security.admin.usernames.
+ */
+@Component
+@WebEndpoint(id = "hotaccounts")
+public class HotAccountsEndpoint {
+
+    private final HotAccountService hotAccountService;
+
+    public HotAccountsEndpoint(HotAccountService hotAccountService) {
+        this.hotAccountService = hotAccountService;
+    }
+
+    @ReadOperation
+    public Set<String> hotAccounts() {
+        return new TreeSet<>(hotAccountService.hotAccountNumbers());
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> setHot(@Selector String number, boolean hot) {
+        if (!hotAccountService.setHot(number, hot)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(Map.of("number", number, "hot", hot));
+    }
+}
@@ -1,17 +1,22 @@
 package com.main.mini_bank.controller;
 
+import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 
 import com.main.mini_bank.enums.TransactionStatus;
+import com.main.mini_bank.model.dto.request.BatchTransferRequest;
+import com.main.mini_bank.model.dto.response.BatchTransferResponse;
 import com.main.mini_bank.model.dto.response.TransactionResponse;
 import com.main.mini_bank.model.dto.request.TransferRequest;
 import com.main.mini_bank.model.dto.response.TransferResponse;
+import com.main.mini_bank.service.AsyncTransferService;
 import com.main.mini_bank.service.TransactionService;
 
 import jakarta.validation.Valid;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -20,13 +25,17 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -34,16 +43,23 @@ import org.springframework.web.bind.annotation.RestController;
 @SecurityRequirement(name = "bearerAuth")
 public class TransactionController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final TransactionService transactionService;
+    private final AsyncTransferService asyncTransferService;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, AsyncTransferService asyncTransferService) {
         this.transactionService = transactionService;
+        this.asyncTransferService = asyncTransferService;
     }
 
     @PostMapping("/transfer")
     @Operation(
         summary = "Transfer money",
-        description = "Transfers money from one account to another. The sender account must belong to the authenticated user."
+        description = "Transfers money from one account to another. The sender account must belong to the authenticated user. "
+            + "Retries that repeat the " + IDEMPOTENCY_KEY_HEADER + " header of an earlier transfer return its response "
+            + "instead of transferring again."
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Transfer completed"),
@@ -54,29 +70,133 @@ public class TransactionController {
         @ApiResponse(responseCode = "403", description = "Forbidden",
             content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
         @ApiResponse(responseCode = "404", description = "Account not found",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
+        @ApiResponse(responseCode = "422", description = "Idempotency key reused with a different request",
             content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class)))
     })
-    public ResponseEntity<TransferResponse> transfer(@Valid @RequestBody TransferRequest request) {
-        TransferResponse response = transactionService.transfer(request);
+    public ResponseEntity<TransferResponse> transfer(
+        @Valid @RequestBody TransferRequest request,
+        @Parameter(description = "Client-chosen key (1-255 characters) that makes retries of this transfer safe")
+        @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        TransferResponse response = transactionService.transfer(request, idempotencyKey);
         HttpStatus status = response.getStatus() == TransactionStatus.SUCCESS
             ? HttpStatus.OK
             : HttpStatus.BAD_REQUEST;
         return ResponseEntity.status(status).body(response);
     }
 
+    @PostMapping("/transfers/async")
+    @Operation(
+        summary = "Submit transfer",
+        description = "Validates and accepts a transfer without applying it, returning its id with status PENDING. "
+            + "Poll GET /api/transactions/{id} (the Location header) until the status is SUCCESS or FAILED."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Transfer accepted"),
+        @ApiResponse(responseCode = "400", description = "Validation error",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Account not found",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
+        @ApiResponse(responseCode = "503", description = "Transfer queue is full",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class)))
+    })
+    public ResponseEntity<TransferResponse> submitTransfer(@Valid @RequestBody TransferRequest request) {
+        TransferResponse response = asyncTransferService.submit(request);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/transactions/" + response.getTransactionId()))
+            .body(response);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+        summary = "Get transaction",
+        description = "Returns a single transaction, including the current status of a submitted transfer. "
+            + "Visible to the owners of either account."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Transaction returned"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Transaction not found",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class)))
+    })
+    public TransactionResponse getTransaction(@PathVariable Long id) {
+        return transactionService.findTransaction(id);
+    }
+
+    @PostMapping("/transfers/batch")
+    @Operation(
+        summary = "Batch transfer",
+        description = "Applies many transfers in a single database transaction and returns a result per item. "
+            + "Items that cannot be applied are reported as FAILED without affecting the rest of the batch."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Batch processed"),
+        @ApiResponse(responseCode = "400", description = "Validation error",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class)))
+    })
+    public BatchTransferResponse transferBatch(@Valid @RequestBody BatchTransferRequest request) {
+        return transactionService.transferBatch(request);
+    }
+
     @GetMapping("/account/{accountId}")
     @Operation(
         summary = "Transaction history",
-        description = "Returns the transfer history for the specified account. Access is restricted to the account owner."
+        description = "Returns the transfer history for the specified account, newest first. "
+            + "Access is restricted to the account owner. Pass limit (and the cursor from the "
+            + NEXT_CURSOR_HEADER + " response header) to page through history with keyset pagination."
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Transactions returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit or cursor",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Account not found",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class)))
+    })
+    public ResponseEntity<List<TransactionResponse>> history(
+        @PathVariable UUID accountId,
+        @Parameter(description = "Page size (1-500); enables pagination")
+        @RequestParam(required = false) Integer limit,
+        @Parameter(description = "Cursor returned in the " + NEXT_CURSOR_HEADER + " header of the previous page")
+        @RequestParam(required = false) String cursor
+    ) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(transactionService.history(accountId));
+        }
+
+        TransactionService.HistoryPage page = transactionService.historyPage(accountId, cursor, limit);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return builder.body(page.items());
+    }
+
+    @GetMapping(value = "/account/{accountId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Export transaction history",
+        description = "Streams the full transfer history for the specified account as newline-delimited JSON. "
+            + "Selected with Accept: application/x-ndjson."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "History streamed"),
         @ApiResponse(responseCode = "401", description = "Unauthorized",
             content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
         @ApiResponse(responseCode = "404", description = "Account not found",
             content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class)))
     })
-    public List<TransactionResponse> history(@PathVariable UUID accountId) {
-        return transactionService.history(accountId);
+    public ResponseEntity<StreamingResponseBody> exportHistory(@PathVariable UUID accountId) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(transactionService.exportHistory(accountId));
     }
 }
@@ -1,5 +1,7 @@
 package com.main.mini_bank.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.main.mini_bank.model.dto.response.AuthResponse;
 import com.main.mini_bank.model.dto.request.LoginRequest;
 import com.main.mini_bank.model.dto.request.RegisterRequest;
@@ -43,11 +45,13 @@ public class UserController {
         @ApiResponse(responseCode = "400", description = "Validation error",
             content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
         @ApiResponse(responseCode = "409", description = "Username or email already exists",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
+        @ApiResponse(responseCode = "503", description = "Too many sign-ins in progress",
             content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class)))
     })
-    public ResponseEntity<UserResponse> register(@Valid @RequestBody RegisterRequest request) {
-        UserResponse response = authService.register(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public CompletableFuture<ResponseEntity<UserResponse>> register(@Valid @RequestBody RegisterRequest request) {
+        return authService.register(request)
+            .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 
     @PostMapping("/login")
@@ -60,9 +64,11 @@ public class UserController {
         @ApiResponse(responseCode = "400", description = "Validation error",
             content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
         @ApiResponse(responseCode = "401", description = "Invalid credentials",
+            content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class))),
+        @ApiResponse(responseCode = "503", description = "Too many sign-ins in progress",
             content = @Content(schema = @Schema(implementation = com.main.mini_bank.exception.ErrorResponse.class)))
     })
-    public AuthResponse login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
         return authService.login(request);
     }
 }
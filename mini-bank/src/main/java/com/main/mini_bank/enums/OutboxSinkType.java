@@ -0,0 +1,7 @@
+package com.main.mini_bank.enums;
+
+public enum OutboxSinkType {
+    DATABASE,
+    FILE,
+    MEMORY
+}
@@ -1,6 +1,7 @@
 package com.main.mini_bank.enums;
 
 public enum TransactionStatus {
+    PENDING,
     SUCCESS,
     FAILED
-}
\ No newline at end of file
+}
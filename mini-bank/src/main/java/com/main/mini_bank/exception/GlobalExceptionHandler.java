@@ -7,10 +7,12 @@ import jakarta.servlet.http.HttpServletRequest;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -81,6 +83,35 @@ public class GlobalExceptionHandler {
         );
     }
 
+    // A versioned row changed between read and write; the transfer retry path reports the same.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
+        OptimisticLockingFailureException ex,
+        HttpServletRequest request
+    ) {
+        return buildError(
+            HttpStatus.CONFLICT,
+            "Concurrent update, please retry",
+            request.getRequestURI(),
+            null
+        );
+    }
+
+    // Raised when no pooled connection frees up within the Hikari connection timeout.
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransaction(
+        CannotCreateTransactionException ex,
+        HttpServletRequest request
+    ) {
+        logger.warn("Could not obtain a database connection: {}", ex.getMessage());
+        return buildError(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "Service temporarily unavailable",
+            request.getRequestURI(),
+            null
+        );
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleUnexpected(Exception ex, HttpServletRequest request) {
         logger.error("Unhandled exception", ex);
@@ -0,0 +1,22 @@
+package com.main.mini_bank.model.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public class BatchTransferRequest {
+
+    @NotEmpty
+    @Size(max = 5000)
+    private List<@Valid TransferRequest> transfers;
+
+    public List<TransferRequest> getTransfers() {
+        return transfers;
+    }
+
+    public void setTransfers(List<TransferRequest> transfers) {
+        this.transfers = transfers;
+    }
+}
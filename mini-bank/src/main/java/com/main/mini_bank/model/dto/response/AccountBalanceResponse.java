@@ -0,0 +1,30 @@
+package com.main.mini_bank.model.dto.response;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Current balance of an account; version orders updates, so clients can ignore one older than what they hold.
+public class AccountBalanceResponse {
+
+    private final UUID accountId;
+    private final BigDecimal balance;
+    private final long version;
+
+    public AccountBalanceResponse(UUID accountId, BigDecimal balance, long version) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.version = version;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
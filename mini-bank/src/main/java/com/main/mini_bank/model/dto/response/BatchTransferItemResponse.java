@@ -0,0 +1,62 @@
+package com.main.mini_bank.model.dto.response;
+
+import java.math.BigDecimal;
+
+import com.main.mini_bank.enums.TransactionStatus;
+
+public class BatchTransferItemResponse {
+
+    private final int index;
+    private final Long transactionId;
+    private final TransactionStatus status;
+    private final String message;
+    private final String fromAccountNumber;
+    private final String toAccountNumber;
+    private final BigDecimal amount;
+
+    public BatchTransferItemResponse(
+        int index,
+        Long transactionId,
+        TransactionStatus status,
+        String message,
+        String fromAccountNumber,
+        String toAccountNumber,
+        BigDecimal amount
+    ) {
+        this.index = index;
+        this.transactionId = transactionId;
+        this.status = status;
+        this.message = message;
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getFromAccountNumber() {
+        return fromAccountNumber;
+    }
+
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
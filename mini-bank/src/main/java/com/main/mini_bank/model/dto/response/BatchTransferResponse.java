@@ -0,0 +1,28 @@
+package com.main.mini_bank.model.dto.response;
+
+import java.util.List;
+
+public class BatchTransferResponse {
+
+    private final int succeeded;
+    private final int failed;
+    private final List<BatchTransferItemResponse> results;
+
+    public BatchTransferResponse(int succeeded, int failed, List<BatchTransferItemResponse> results) {
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.results = results;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<BatchTransferItemResponse> getResults() {
+        return results;
+    }
+}
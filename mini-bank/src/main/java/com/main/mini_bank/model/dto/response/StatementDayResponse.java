@@ -0,0 +1,35 @@
+package com.main.mini_bank.model.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class StatementDayResponse {
+
+    private final LocalDate date;
+    private final BigDecimal debits;
+    private final BigDecimal credits;
+    private final BigDecimal closingBalance;
+
+    public StatementDayResponse(LocalDate date, BigDecimal debits, BigDecimal credits, BigDecimal closingBalance) {
+        this.date = date;
+        this.debits = debits;
+        this.credits = credits;
+        this.closingBalance = closingBalance;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public BigDecimal getDebits() {
+        return debits;
+    }
+
+    public BigDecimal getCredits() {
+        return credits;
+    }
+
+    public BigDecimal getClosingBalance() {
+        return closingBalance;
+    }
+}
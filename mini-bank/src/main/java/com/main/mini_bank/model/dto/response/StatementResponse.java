@@ -0,0 +1,77 @@
+package com.main.mini_bank.model.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public class StatementResponse {
+
+    private final UUID accountId;
+    private final String accountNumber;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final BigDecimal openingBalance;
+    private final BigDecimal totalDebits;
+    private final BigDecimal totalCredits;
+    private final BigDecimal closingBalance;
+    private final List<StatementDayResponse> days;
+
+    public StatementResponse(
+        UUID accountId,
+        String accountNumber,
+        LocalDate from,
+        LocalDate to,
+        BigDecimal openingBalance,
+        BigDecimal totalDebits,
+        BigDecimal totalCredits,
+        BigDecimal closingBalance,
+        List<StatementDayResponse> days
+    ) {
+        this.accountId = accountId;
+        this.accountNumber = accountNumber;
+        this.from = from;
+        this.to = to;
+        this.openingBalance = openingBalance;
+        this.totalDebits = totalDebits;
+        this.totalCredits = totalCredits;
+        this.closingBalance = closingBalance;
+        this.days = days;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public BigDecimal getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public BigDecimal getTotalDebits() {
+        return totalDebits;
+    }
+
+    public BigDecimal getTotalCredits() {
+        return totalCredits;
+    }
+
+    public BigDecimal getClosingBalance() {
+        return closingBalance;
+    }
+
+    public List<StatementDayResponse> getDays() {
+        return days;
+    }
+}
@@ -15,6 +15,7 @@ public class TransactionResponse {
     private final String toAccountNumber;
     private final BigDecimal amount;
     private final LocalDateTime transactionDate;
+    private final LocalDateTime settledAt;
     private final TransactionStatus status;
 
     public TransactionResponse(
@@ -25,6 +26,7 @@ public class TransactionResponse {
         String toAccountNumber,
         BigDecimal amount,
         LocalDateTime transactionDate,
+        LocalDateTime settledAt,
         TransactionStatus status
     ) {
         this.id = id;
@@ -34,6 +36,7 @@ public class TransactionResponse {
         this.toAccountNumber = toAccountNumber;
         this.amount = amount;
         this.transactionDate = transactionDate;
+        this.settledAt = settledAt;
         this.status = status;
     }
 
@@ -65,6 +68,10 @@ public class TransactionResponse {
         return transactionDate;
     }
 
+    public LocalDateTime getSettledAt() {
+        return settledAt;
+    }
+
     public TransactionStatus getStatus() {
         return status;
     }
@@ -13,10 +13,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(
@@ -24,7 +26,8 @@ import jakarta.persistence.UniqueConstraint;
     uniqueConstraints = {
         @UniqueConstraint(columnNames = "number"),
         @UniqueConstraint(columnNames = "name")
-    }
+    },
+    indexes = @Index(name = "idx_accounts_user_id", columnList = "user_id")
 )
 public class Account extends AuditableEntity {
 
@@ -41,6 +44,15 @@ public class Account extends AuditableEntity {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal balance = BigDecimal.ZERO;
 
+    // Checked on every balance update; conflicts surface as optimistic locking failures.
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // Hot accounts receive credits through pending_credits; see HotAccountService.
+    @Column(nullable = false)
+    private boolean hot;
+
     @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
@@ -74,6 +86,18 @@ public class Account extends AuditableEntity {
         this.balance = balance;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isHot() {
+        return hot;
+    }
+
+    public void setHot(boolean hot) {
+        this.hot = hot;
+    }
+
     public User getUser() {
         return user;
     }
@@ -0,0 +1,52 @@
+package com.main.mini_bank.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Sum of an account's journal entries posted before postedBefore.
+@Entity
+@Table(name = "account_balance_checkpoints")
+public class BalanceCheckpoint {
+
+    @Id
+    @Column(name = "account_id")
+    private UUID accountId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "posted_before", nullable = false)
+    private LocalDateTime postedBefore;
+
+    protected BalanceCheckpoint() {
+    }
+
+    public BalanceCheckpoint(UUID accountId, BigDecimal balance, LocalDateTime postedBefore) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.postedBefore = postedBefore;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public LocalDateTime getPostedBefore() {
+        return postedBefore;
+    }
+
+    public void advance(BigDecimal posted, LocalDateTime postedBefore) {
+        this.balance = balance.add(posted);
+        this.postedBefore = postedBefore;
+    }
+}
@@ -0,0 +1,100 @@
+package com.main.mini_bank.model.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+// An account's successful debits and credits on one day and its balance at the end of that day.
+@Entity
+@Table(name = "account_daily_balances")
+public class DailyBalance {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal debits;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal credits;
+
+    @Column(name = "closing_balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal closingBalance;
+
+    protected DailyBalance() {
+    }
+
+    public Key getId() {
+        return id;
+    }
+
+    public LocalDate getBalanceDate() {
+        return id.getBalanceDate();
+    }
+
+    public BigDecimal getDebits() {
+        return debits;
+    }
+
+    public BigDecimal getCredits() {
+        return credits;
+    }
+
+    public BigDecimal getClosingBalance() {
+        return closingBalance;
+    }
+
+    public BigDecimal getOpeningBalance() {
+        return closingBalance.subtract(credits).add(debits);
+    }
+
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "account_id", nullable = false)
+        private UUID accountId;
+
+        @Column(name = "balance_date", nullable = false)
+        private LocalDate balanceDate;
+
+        protected Key() {
+        }
+
+        public Key(UUID accountId, LocalDate balanceDate) {
+            this.accountId = accountId;
+            this.balanceDate = balanceDate;
+        }
+
+        public UUID getAccountId() {
+            return accountId;
+        }
+
+        public LocalDate getBalanceDate() {
+            return balanceDate;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key key)) {
+                return false;
+            }
+            return accountId.equals(key.accountId) && balanceDate.equals(key.balanceDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, balanceDate);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.main.mini_bank.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+// One leg of a posting: negative amounts debit the account, positive amounts credit it. Never updated.
+@Entity
+@Table(name = "journal_entries")
+public class JournalEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journal_entries_id_generator")
+    @SequenceGenerator(name = "journal_entries_id_generator", sequenceName = "journal_entries_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "account_id", nullable = false, updatable = false)
+    private Account account;
+
+    // Null for an opening balance.
+    @Column(name = "transaction_id", updatable = false)
+    private Long transactionId;
+
+    @Column(nullable = false, precision = 19, scale = 2, updatable = false)
+    private BigDecimal amount;
+
+    @Column(name = "posted_at", nullable = false, updatable = false)
+    private LocalDateTime postedAt;
+
+    protected JournalEntry() {
+    }
+
+    public JournalEntry(Account account, Long transactionId, BigDecimal amount, LocalDateTime postedAt) {
+        this.account = account;
+        this.transactionId = transactionId;
+        this.amount = amount;
+        this.postedAt = postedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Account getAccount() {
+        return account;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getPostedAt() {
+        return postedAt;
+    }
+}
@@ -0,0 +1,38 @@
+package com.main.mini_bank.model.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Single row: every journal entry posted before postedBefore is covered by its account's checkpoint.
+@Entity
+@Table(name = "journal_checkpoint_watermark")
+public class JournalWatermark {
+
+    public static final short ID = 1;
+
+    @Id
+    private Short id;
+
+    @Column(name = "posted_before", nullable = false)
+    private LocalDateTime postedBefore;
+
+    protected JournalWatermark() {
+    }
+
+    public JournalWatermark(LocalDateTime postedBefore) {
+        this.id = ID;
+        this.postedBefore = postedBefore;
+    }
+
+    public LocalDateTime getPostedBefore() {
+        return postedBefore;
+    }
+
+    public void setPostedBefore(LocalDateTime postedBefore) {
+        this.postedBefore = postedBefore;
+    }
+}
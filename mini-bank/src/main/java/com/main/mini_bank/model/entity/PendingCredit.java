@@ -0,0 +1,58 @@
+package com.main.mini_bank.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+// A credit to a hot account that has been recorded in the ledger but not yet folded into its balance.
+@Entity
+@Table(name = "pending_credits")
+public class PendingCredit {
+
+    @Id
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    protected PendingCredit() {
+    }
+
+    public PendingCredit(Long transactionId, Account account, BigDecimal amount, LocalDateTime createdAt) {
+        this.transactionId = transactionId;
+        this.account = account;
+        this.amount = amount;
+        this.createdAt = createdAt;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public Account getAccount() {
+        return account;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
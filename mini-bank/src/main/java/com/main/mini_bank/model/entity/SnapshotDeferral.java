@@ -0,0 +1,32 @@
+package com.main.mini_bank.model.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// A transfer that was still PENDING when balanceDate was closed, so that day's balances leave it out.
+@Entity
+@Table(name = "snapshot_deferred_transfers")
+public class SnapshotDeferral {
+
+    @Id
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "balance_date", nullable = false)
+    private LocalDate balanceDate;
+
+    protected SnapshotDeferral() {
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public LocalDate getBalanceDate() {
+        return balanceDate;
+    }
+}
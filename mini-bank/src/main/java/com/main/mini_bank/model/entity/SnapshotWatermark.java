@@ -0,0 +1,38 @@
+package com.main.mini_bank.model.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Single row: every day up to and including closedThrough has its daily balances written.
+@Entity
+@Table(name = "balance_snapshot_watermark")
+public class SnapshotWatermark {
+
+    public static final short ID = 1;
+
+    @Id
+    private Short id;
+
+    @Column(name = "closed_through", nullable = false)
+    private LocalDate closedThrough;
+
+    protected SnapshotWatermark() {
+    }
+
+    public SnapshotWatermark(LocalDate closedThrough) {
+        this.id = ID;
+        this.closedThrough = closedThrough;
+    }
+
+    public LocalDate getClosedThrough() {
+        return closedThrough;
+    }
+
+    public void setClosedThrough(LocalDate closedThrough) {
+        this.closedThrough = closedThrough;
+    }
+}
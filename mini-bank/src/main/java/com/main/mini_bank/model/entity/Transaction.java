@@ -2,6 +2,7 @@ package com.main.mini_bank.model.entity;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.main.mini_bank.enums.TransactionStatus;
@@ -14,16 +15,26 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "transactions")
+@Table(
+    name = "transactions",
+    indexes = {
+        @Index(name = "idx_transactions_from_account_date", columnList = "from_account_id, transaction_date, id"),
+        @Index(name = "idx_transactions_to_account_date", columnList = "to_account_id, transaction_date, id")
+    }
+)
 public class Transaction {
 
+    // Pooled sequence ids are assigned without a round trip per insert, which keeps JDBC batching enabled.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_id_generator")
+    @SequenceGenerator(name = "transactions_id_generator", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @JsonIgnore
@@ -42,10 +53,18 @@ public class Transaction {
     @Column(nullable = false)
     private LocalDateTime transactionDate;
 
+    // When balances changed; null while PENDING. transactionDate stays the submission time.
+    private LocalDateTime settledAt;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private TransactionStatus status;
 
+    // Caller of an asynchronous transfer, whom settling re-checks ownership against; null for synchronous ones.
+    @JsonIgnore
+    @Column(name = "submitted_by")
+    private UUID submittedBy;
+
     public Long getId() {
         return id;
     }
@@ -82,6 +101,14 @@ public class Transaction {
         this.transactionDate = transactionDate;
     }
 
+    public LocalDateTime getSettledAt() {
+        return settledAt;
+    }
+
+    public void setSettledAt(LocalDateTime settledAt) {
+        this.settledAt = settledAt;
+    }
+
     public TransactionStatus getStatus() {
         return status;
     }
@@ -89,4 +116,12 @@ public class Transaction {
     public void setStatus(TransactionStatus status) {
         this.status = status;
     }
+
+    public UUID getSubmittedBy() {
+        return submittedBy;
+    }
+
+    public void setSubmittedBy(UUID submittedBy) {
+        this.submittedBy = submittedBy;
+    }
 }
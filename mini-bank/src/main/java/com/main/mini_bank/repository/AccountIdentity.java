@@ -0,0 +1,7 @@
+package com.main.mini_bank.repository;
+
+import java.util.UUID;
+
+// Identity and ownership of an account, without its balance; see AccountDirectory.
+public record AccountIdentity(UUID id, String number, UUID ownerId) {
+}
@@ -1,31 +1,96 @@
 package com.main.mini_bank.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import com.main.mini_bank.model.dto.response.AccountBalanceResponse;
 import com.main.mini_bank.model.entity.Account;
 
 import jakarta.persistence.LockModeType;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface AccountRepository extends JpaRepository<Account, UUID> {
-
-    boolean existsByNumber(String number);
+public interface AccountRepository extends JpaRepository<Account, UUID>, JpaSpecificationExecutor<Account> {
 
     boolean existsByName(String name);
 
+    boolean existsByNumber(String number);
+
     Optional<Account> findByNumber(String number);
 
+    // Locks rows in the database's sort order for number, giving every caller the same global lock order.
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("select a from Account a where a.number = :number")
-    Optional<Account> findByNumberForUpdate(@Param("number") String number);
+    @Query("select a from Account a where a.number in :numbers order by a.number")
+    List<Account> findAllByNumberForUpdate(@Param("numbers") Collection<String> numbers);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") UUID id);
+
+    List<Account> findAllByNumberIn(Collection<String> numbers);
+
+    // Matches only while the caller owns the account and the balance covers the amount; returns rows updated.
+    // Guarded by number as well as id, so an identity cached before a renumber matches nothing.
+    @Modifying
+    @Query("update Account a set a.balance = a.balance - :amount, a.version = a.version + 1, a.updatedAt = :now "
+        + "where a.id = :id and a.number = :number and a.user.id = :userId and a.balance >= :amount")
+    int debitIfCovered(
+        @Param("id") UUID id,
+        @Param("number") String number,
+        @Param("userId") UUID userId,
+        @Param("amount") BigDecimal amount,
+        @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("update Account a set a.balance = a.balance + :amount, a.version = a.version + 1, a.updatedAt = :now "
+        + "where a.id = :id and a.number = :number")
+    int credit(
+        @Param("id") UUID id,
+        @Param("number") String number,
+        @Param("amount") BigDecimal amount,
+        @Param("now") LocalDateTime now
+    );
+
+    boolean existsByIdAndNumber(UUID id, String number);
+
+    @Query("select a.number from Account a where a.hot = true")
+    List<String> findNumbersByHotTrue();
+
+    // Bumps the version so a transfer holding a stale copy of the row cannot write the old flag back.
+    @Modifying
+    @Query("update Account a set a.hot = :hot, a.version = a.version + 1, a.updatedAt = :now "
+        + "where a.number in :numbers and a.hot <> :hot")
+    int updateHot(
+        @Param("numbers") Collection<String> numbers,
+        @Param("hot") boolean hot,
+        @Param("now") LocalDateTime now
+    );
 
     Optional<Account> findByIdAndUserId(UUID id, UUID userId);
 
-    List<Account> findByUserId(UUID userId);
+    @Query("select new com.main.mini_bank.repository.AccountIdentity(a.id, a.number, a.user.id) "
+        + "from Account a where a.number = :number")
+    Optional<AccountIdentity> findIdentityByNumber(@Param("number") String number);
+
+    @Query("select new com.main.mini_bank.repository.AccountIdentity(a.id, a.number, a.user.id) "
+        + "from Account a where a.number in :numbers")
+    List<AccountIdentity> findIdentitiesByNumberIn(@Param("numbers") Collection<String> numbers);
+
+    @Query("select new com.main.mini_bank.repository.AccountIdentity(a.id, a.number, a.user.id) "
+        + "from Account a where a.id = :id")
+    Optional<AccountIdentity> findIdentityById(@Param("id") UUID id);
+
+    @Query("select new com.main.mini_bank.model.dto.response.AccountBalanceResponse(a.id, a.balance, a.version) "
+        + "from Account a where a.id = :id")
+    Optional<AccountBalanceResponse> findBalanceById(@Param("id") UUID id);
 }
@@ -0,0 +1,50 @@
+package com.main.mini_bank.repository;
+
+import java.util.Locale;
+import java.util.UUID;
+
+import com.main.mini_bank.model.entity.Account;
+
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Search predicates for {@link AccountRepository}. Text filters compare {@code lower(column)} with a
+ * lower-cased pattern so PostgreSQL can answer them from the trigram indexes on those expressions.
+ */
+public final class AccountSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private AccountSpecifications() {
+    }
+
+    public static Specification<Account> ownedBy(UUID userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Account> numberContains(String value) {
+        return containsIgnoreCase("number", value);
+    }
+
+    public static Specification<Account> nameContains(String value) {
+        return containsIgnoreCase("name", value);
+    }
+
+    private static Specification<Account> containsIgnoreCase(String attribute, String value) {
+        String pattern = "%" + escapeLike(value.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get(attribute)), pattern, LIKE_ESCAPE);
+    }
+
+    // User input is matched literally; % and _ are not wildcards.
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
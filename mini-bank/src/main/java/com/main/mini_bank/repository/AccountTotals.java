@@ -0,0 +1,8 @@
+package com.main.mini_bank.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// One account's successful debits and credits over a period.
+public record AccountTotals(UUID accountId, BigDecimal debits, BigDecimal credits) {
+}
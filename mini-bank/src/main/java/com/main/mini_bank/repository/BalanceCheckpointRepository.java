@@ -0,0 +1,21 @@
+package com.main.mini_bank.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import com.main.mini_bank.model.entity.BalanceCheckpoint;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, UUID> {
+
+    // Serializes advancing one account's checkpoint across instances.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from BalanceCheckpoint c where c.accountId = :accountId")
+    Optional<BalanceCheckpoint> findByIdForUpdate(@Param("accountId") UUID accountId);
+}
@@ -0,0 +1,94 @@
+package com.main.mini_bank.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import com.main.mini_bank.model.entity.DailyBalance;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DailyBalanceRepository extends JpaRepository<DailyBalance, DailyBalance.Key> {
+
+    @Query("select b from DailyBalance b where b.id.accountId = :accountId and b.id.balanceDate <= :date "
+        + "order by b.id.balanceDate desc")
+    List<DailyBalance> findLatestOnOrBefore(
+        @Param("accountId") UUID accountId,
+        @Param("date") LocalDate date,
+        Limit limit
+    );
+
+    @Query("select b from DailyBalance b where b.id.accountId = :accountId and b.id.balanceDate > :date "
+        + "order by b.id.balanceDate")
+    List<DailyBalance> findEarliestAfter(@Param("accountId") UUID accountId, @Param("date") LocalDate date, Limit limit);
+
+    @Query("select b from DailyBalance b where b.id.accountId = :accountId "
+        + "and b.id.balanceDate between :from and :to order by b.id.balanceDate")
+    List<DailyBalance> findBetween(
+        @Param("accountId") UUID accountId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    @Query("select b.closingBalance from DailyBalance b where b.id.accountId = :accountId "
+        + "and b.id.balanceDate < :date order by b.id.balanceDate desc")
+    List<BigDecimal> findClosingBalancesBefore(
+        @Param("accountId") UUID accountId,
+        @Param("date") LocalDate date,
+        Limit limit
+    );
+
+    @Query("select b.closingBalance - b.credits + b.debits from DailyBalance b where b.id.accountId = :accountId "
+        + "and b.id.balanceDate > :date order by b.id.balanceDate")
+    List<BigDecimal> findOpeningBalancesAfter(
+        @Param("accountId") UUID accountId,
+        @Param("date") LocalDate date,
+        Limit limit
+    );
+
+    // A plain insert: rows are written when their day is closed and only corrected for transfers settled late.
+    @Modifying
+    @Query(
+        value = "insert into account_daily_balances (account_id, balance_date, debits, credits, closing_balance) "
+            + "values (:accountId, :date, :debits, :credits, :closingBalance)",
+        nativeQuery = true
+    )
+    void insert(
+        @Param("accountId") UUID accountId,
+        @Param("date") LocalDate date,
+        @Param("debits") BigDecimal debits,
+        @Param("credits") BigDecimal credits,
+        @Param("closingBalance") BigDecimal closingBalance
+    );
+
+    @Modifying
+    @Query(
+        value = "update account_daily_balances set debits = debits + :debits, credits = credits + :credits, "
+            + "closing_balance = closing_balance + :credits - :debits "
+            + "where account_id = :accountId and balance_date = :date",
+        nativeQuery = true
+    )
+    int addToDay(
+        @Param("accountId") UUID accountId,
+        @Param("date") LocalDate date,
+        @Param("debits") BigDecimal debits,
+        @Param("credits") BigDecimal credits
+    );
+
+    @Modifying
+    @Query(
+        value = "update account_daily_balances set closing_balance = closing_balance + :delta "
+            + "where account_id = :accountId and balance_date > :date",
+        nativeQuery = true
+    )
+    int shiftClosingBalancesAfter(
+        @Param("accountId") UUID accountId,
+        @Param("date") LocalDate date,
+        @Param("delta") BigDecimal delta
+    );
+}
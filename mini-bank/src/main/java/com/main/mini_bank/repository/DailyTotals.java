@@ -0,0 +1,8 @@
+package com.main.mini_bank.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One account's successful debits and credits on one day.
+public record DailyTotals(LocalDate date, BigDecimal debits, BigDecimal credits) {
+}
@@ -0,0 +1,33 @@
+package com.main.mini_bank.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.main.mini_bank.model.entity.IdempotencyRecord;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecord.Key> {
+
+    // A plain insert (no merge lookup), so a duplicate key fails right here instead of at flush.
+    @Modifying
+    @Query(
+        value = "insert into idempotency_keys (user_id, idempotency_key, request_hash, response, created_at) "
+            + "values (:userId, :key, :requestHash, :response, :createdAt)",
+        nativeQuery = true
+    )
+    void insert(
+        @Param("userId") UUID userId,
+        @Param("key") String key,
+        @Param("requestHash") String requestHash,
+        @Param("response") String response,
+        @Param("createdAt") LocalDateTime createdAt
+    );
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,29 @@
+package com.main.mini_bank.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.main.mini_bank.model.entity.JournalEntry;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long> {
+
+    @Query("select coalesce(sum(e.amount), 0) from JournalEntry e "
+        + "where e.account.id = :accountId and e.postedAt >= :start and e.postedAt < :end")
+    BigDecimal sumPosted(
+        @Param("accountId") UUID accountId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+
+    // Range scan of idx_journal_entries_posted; its cost follows the postings in the window, not the journal.
+    @Query("select distinct e.account.id from JournalEntry e where e.postedAt >= :start and e.postedAt < :end")
+    List<UUID> findAccountIdsPostedBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    List<JournalEntry> findByTransactionIdOrderByAmount(Long transactionId);
+}
@@ -0,0 +1,20 @@
+package com.main.mini_bank.repository;
+
+import java.util.List;
+
+import com.main.mini_bank.model.entity.OutboxEvent;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Locked so relays on several instances never hand the same rows to the log concurrently.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from OutboxEvent e order by e.id")
+    List<OutboxEvent> findBatchForUpdate(Limit limit);
+}
@@ -0,0 +1,30 @@
+package com.main.mini_bank.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import com.main.mini_bank.model.entity.PendingCredit;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PendingCreditRepository extends JpaRepository<PendingCredit, Long> {
+
+    @Query("select distinct p.account.id from PendingCredit p")
+    List<UUID> findAccountIdsWithPendingCredits();
+
+    List<PendingCredit> findByAccountId(UUID accountId);
+
+    boolean existsByAccountId(UUID accountId);
+
+    @Query("select coalesce(sum(p.amount), 0) from PendingCredit p where p.account.id = :accountId")
+    BigDecimal sumAmountByAccountId(@Param("accountId") UUID accountId);
+
+    @Modifying
+    @Query("delete from PendingCredit p where p.transactionId in :transactionIds")
+    int deleteByTransactionIds(@Param("transactionIds") Collection<Long> transactionIds);
+}
@@ -0,0 +1,8 @@
+package com.main.mini_bank.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// An accepted transfer waiting to be settled; userId is the caller the source account must still belong to.
+public record PendingTransfer(Long transactionId, UUID userId, String fromNumber, String toNumber, BigDecimal amount) {
+}
@@ -0,0 +1,18 @@
+package com.main.mini_bank.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.main.mini_bank.enums.TransactionStatus;
+
+// A deferred transfer that has left PENDING, with what closing its day left out.
+public record SettledDeferral(
+    Long transactionId,
+    LocalDate balanceDate,
+    UUID fromAccountId,
+    UUID toAccountId,
+    BigDecimal amount,
+    TransactionStatus status
+) {
+}
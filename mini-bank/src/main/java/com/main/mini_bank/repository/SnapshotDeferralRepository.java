@@ -0,0 +1,36 @@
+package com.main.mini_bank.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.main.mini_bank.model.entity.SnapshotDeferral;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SnapshotDeferralRepository extends JpaRepository<SnapshotDeferral, Long> {
+
+    // Records, in the snapshot that closes the day, exactly the rows its totals leave out.
+    @Modifying
+    @Query(
+        value = "insert into snapshot_deferred_transfers (transaction_id, balance_date) "
+            + "select t.id, :date from transactions t "
+            + "where t.status = 'PENDING' and t.transaction_date >= :start and t.transaction_date < :end",
+        nativeQuery = true
+    )
+    int deferPending(
+        @Param("date") LocalDate date,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+
+    @Query("select new com.main.mini_bank.repository.SettledDeferral("
+        + "d.transactionId, d.balanceDate, t.fromAccount.id, t.toAccount.id, t.amount, t.status) "
+        + "from SnapshotDeferral d join Transaction t on t.id = d.transactionId "
+        + "where t.status <> com.main.mini_bank.enums.TransactionStatus.PENDING "
+        + "order by d.balanceDate")
+    List<SettledDeferral> findSettled();
+}
@@ -0,0 +1,20 @@
+package com.main.mini_bank.repository;
+
+import java.util.Optional;
+
+import com.main.mini_bank.model.entity.SnapshotWatermark;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SnapshotWatermarkRepository extends JpaRepository<SnapshotWatermark, Short> {
+
+    // Serializes day closing across instances.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select w from SnapshotWatermark w where w.id = :id")
+    Optional<SnapshotWatermark> findByIdForUpdate(@Param("id") Short id);
+}
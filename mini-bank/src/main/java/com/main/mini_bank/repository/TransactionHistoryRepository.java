@@ -0,0 +1,25 @@
+package com.main.mini_bank.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import com.main.mini_bank.model.dto.response.TransactionResponse;
+
+// History reads return DTOs directly so nothing is attached to the persistence context.
+public interface TransactionHistoryRepository {
+
+    List<TransactionResponse> findHistoryPage(UUID accountId, int limit);
+
+    List<TransactionResponse> findHistoryPageBefore(UUID accountId, LocalDateTime beforeDate, Long beforeId, int limit);
+
+    // Must be consumed and closed inside a transaction.
+    Stream<TransactionResponse> streamHistory(UUID accountId);
+
+    // Successful debits and credits of one account per day, for transaction dates in [start, end).
+    List<DailyTotals> findDailyTotals(UUID accountId, LocalDateTime start, LocalDateTime end);
+
+    // Successful debits and credits of every account with activity in [start, end).
+    List<AccountTotals> findAccountTotals(LocalDateTime start, LocalDateTime end);
+}
@@ -0,0 +1,192 @@
+package com.main.mini_bank.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import com.main.mini_bank.enums.TransactionStatus;
+import com.main.mini_bank.model.dto.response.TransactionResponse;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/*
+ * History is read as a UNION ALL of two index range scans, one per foreign key, instead of an OR
+ * across both columns that the planner can only satisfy with a scan. A transfer never has the same
+ * account on both sides, so the branches are disjoint. Each branch is limited before the merge,
+ * which keeps a page at O(limit) regardless of how long the history is.
+ */
+class TransactionHistoryRepositoryImpl implements TransactionHistoryRepository {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private static final String SELECT_COLUMNS = """
+        select h.id, h.from_account_id, fa.number as from_account_number,
+               h.to_account_id, ta.number as to_account_number,
+               h.amount, h.transaction_date, h.settled_at, h.status
+        """;
+
+    private static final String JOIN_ACCOUNTS = """
+        join accounts fa on fa.id = h.from_account_id
+        join accounts ta on ta.id = h.to_account_id
+        order by h.transaction_date desc, h.id desc
+        """;
+
+    private static final String PAGE_SQL = SELECT_COLUMNS + """
+        from (
+            (select t.* from transactions t
+             where t.from_account_id = :accountId
+             order by t.transaction_date desc, t.id desc
+             limit :limit)
+            union all
+            (select t.* from transactions t
+             where t.to_account_id = :accountId
+             order by t.transaction_date desc, t.id desc
+             limit :limit)
+        ) h
+        """ + JOIN_ACCOUNTS + "limit :limit";
+
+    private static final String PAGE_BEFORE_SQL = SELECT_COLUMNS + """
+        from (
+            (select t.* from transactions t
+             where t.from_account_id = :accountId
+               and (t.transaction_date, t.id) < (:beforeDate, :beforeId)
+             order by t.transaction_date desc, t.id desc
+             limit :limit)
+            union all
+            (select t.* from transactions t
+             where t.to_account_id = :accountId
+               and (t.transaction_date, t.id) < (:beforeDate, :beforeId)
+             order by t.transaction_date desc, t.id desc
+             limit :limit)
+        ) h
+        """ + JOIN_ACCOUNTS + "limit :limit";
+
+    private static final String STREAM_SQL = SELECT_COLUMNS + """
+        from (
+            select t.* from transactions t where t.from_account_id = :accountId
+            union all
+            select t.* from transactions t where t.to_account_id = :accountId
+        ) h
+        """ + JOIN_ACCOUNTS;
+
+    private static final String DAILY_TOTALS_SQL = """
+        select cast(h.transaction_date as date) as balance_date, sum(h.debit) as debits, sum(h.credit) as credits
+        from (
+            select t.transaction_date, t.amount as debit, cast(0 as numeric(19, 2)) as credit
+            from transactions t
+            where t.from_account_id = :accountId and t.status = 'SUCCESS'
+              and t.transaction_date >= :start and t.transaction_date < :end
+            union all
+            select t.transaction_date, cast(0 as numeric(19, 2)), t.amount
+            from transactions t
+            where t.to_account_id = :accountId and t.status = 'SUCCESS'
+              and t.transaction_date >= :start and t.transaction_date < :end
+        ) h
+        group by cast(h.transaction_date as date)
+        order by balance_date
+        """;
+
+    private static final String ACCOUNT_TOTALS_SQL = """
+        select h.account_id, sum(h.debit) as debits, sum(h.credit) as credits
+        from (
+            select t.from_account_id as account_id, t.amount as debit, cast(0 as numeric(19, 2)) as credit
+            from transactions t
+            where t.status = 'SUCCESS' and t.transaction_date >= :start and t.transaction_date < :end
+            union all
+            select t.to_account_id, cast(0 as numeric(19, 2)), t.amount
+            from transactions t
+            where t.status = 'SUCCESS' and t.transaction_date >= :start and t.transaction_date < :end
+        ) h
+        group by h.account_id
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+
+    TransactionHistoryRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(STREAM_FETCH_SIZE);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    @Override
+    public List<TransactionResponse> findHistoryPage(UUID accountId, int limit) {
+        return jdbcTemplate.query(
+            PAGE_SQL,
+            Map.of("accountId", accountId, "limit", limit),
+            TransactionHistoryRepositoryImpl::mapRow
+        );
+    }
+
+    @Override
+    public List<TransactionResponse> findHistoryPageBefore(
+        UUID accountId,
+        LocalDateTime beforeDate,
+        Long beforeId,
+        int limit
+    ) {
+        return jdbcTemplate.query(
+            PAGE_BEFORE_SQL,
+            Map.of("accountId", accountId, "beforeDate", beforeDate, "beforeId", beforeId, "limit", limit),
+            TransactionHistoryRepositoryImpl::mapRow
+        );
+    }
+
+    @Override
+    public Stream<TransactionResponse> streamHistory(UUID accountId) {
+        return streamingJdbcTemplate.queryForStream(
+            STREAM_SQL,
+            Map.of("accountId", accountId),
+            TransactionHistoryRepositoryImpl::mapRow
+        );
+    }
+
+    @Override
+    public List<DailyTotals> findDailyTotals(UUID accountId, LocalDateTime start, LocalDateTime end) {
+        return jdbcTemplate.query(
+            DAILY_TOTALS_SQL,
+            Map.of("accountId", accountId, "start", start, "end", end),
+            (rs, rowNum) -> new DailyTotals(
+                rs.getObject("balance_date", LocalDate.class),
+                rs.getBigDecimal("debits"),
+                rs.getBigDecimal("credits")
+            )
+        );
+    }
+
+    @Override
+    public List<AccountTotals> findAccountTotals(LocalDateTime start, LocalDateTime end) {
+        return jdbcTemplate.query(
+            ACCOUNT_TOTALS_SQL,
+            Map.of("start", start, "end", end),
+            (rs, rowNum) -> new AccountTotals(
+                rs.getObject("account_id", UUID.class),
+                rs.getBigDecimal("debits"),
+                rs.getBigDecimal("credits")
+            )
+        );
+    }
+
+    private static TransactionResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new TransactionResponse(
+            rs.getLong("id"),
+            rs.getObject("from_account_id", UUID.class),
+            rs.getString("from_account_number"),
+            rs.getObject("to_account_id", UUID.class),
+            rs.getString("to_account_number"),
+            rs.getBigDecimal("amount"),
+            rs.getObject("transaction_date", LocalDateTime.class),
+            rs.getObject("settled_at", LocalDateTime.class),
+            TransactionStatus.valueOf(rs.getString("status"))
+        );
+    }
+}
@@ -1,23 +1,52 @@
 package com.main.mini_bank.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import com.main.mini_bank.model.dto.response.TransactionResponse;
 import com.main.mini_bank.model.entity.Transaction;
 
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-
-    @Query("""
-        select t from Transaction t
-        join fetch t.fromAccount fa
-        join fetch t.toAccount ta
-        where fa.id = :accountId
-           or ta.id = :accountId
-        order by t.transactionDate desc
-        """)
-    List<Transaction> findHistoryWithAccounts(@Param("accountId") UUID accountId);
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionHistoryRepository {
+
+    // Only rows that are still PENDING come back, locked in id order.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Transaction t where t.id in :ids "
+        + "and t.status = com.main.mini_bank.enums.TransactionStatus.PENDING order by t.id")
+    List<Transaction> findPendingByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Carries the submitter, not the source account's current owner, into the ownership re-check.
+    @Query("select new com.main.mini_bank.repository.PendingTransfer("
+        + "t.id, t.submittedBy, f.number, d.number, t.amount) "
+        + "from Transaction t join t.fromAccount f join t.toAccount d "
+        + "where t.status = com.main.mini_bank.enums.TransactionStatus.PENDING and t.transactionDate < :before "
+        + "order by t.id")
+    List<PendingTransfer> findPendingAcceptedBefore(@Param("before") LocalDateTime before, Limit limit);
+
+    // Accepted transfers are dated when submitted, so one still PENDING can yet change its day's totals.
+    @Query("select case when count(t) > 0 then true else false end from Transaction t "
+        + "where t.status = com.main.mini_bank.enums.TransactionStatus.PENDING "
+        + "and t.transactionDate >= :start and t.transactionDate < :end")
+    boolean existsPendingBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("select min(t.transactionDate) from Transaction t "
+        + "where t.status = com.main.mini_bank.enums.TransactionStatus.SUCCESS")
+    Optional<LocalDateTime> findEarliestSuccessfulTransactionDate();
+
+    // Visible to the owners of either account.
+    @Query("select new com.main.mini_bank.model.dto.response.TransactionResponse("
+        + "t.id, f.id, f.number, d.id, d.number, t.amount, t.transactionDate, t.settledAt, t.status) "
+        + "from Transaction t join t.fromAccount f join t.toAccount d "
+        + "where t.id = :id and (f.user.id = :userId or d.user.id = :userId)")
+    Optional<TransactionResponse> findVisibleById(@Param("id") Long id, @Param("userId") UUID userId);
 }
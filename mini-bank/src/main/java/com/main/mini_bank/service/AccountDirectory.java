@@ -0,0 +1,97 @@
+package com.main.mini_bank.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.main.mini_bank.config.TransferProperties;
+import com.main.mini_bank.repository.AccountIdentity;
+import com.main.mini_bank.repository.AccountRepository;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded in-process cache of account identity and ownership, keyed by number and by id. It lets callers
+ * reject unknown accounts and foreign owners without opening a locking transaction. Entries are evicted
+ * by {@link AccountService} after a number change or delete commits, and expire after a TTL so other
+ * instances converge. It is a pre-filter only: transfers re-check ownership on the locked rows, and
+ * uniqueness checks on writes go to the database instead. Absent accounts are not cached, so a newly
+ * created number is visible immediately.
+ */
+@Service
+public class AccountDirectory {
+
+    private final AccountRepository accountRepository;
+    private final Cache<String, AccountIdentity> byNumber;
+    private final Cache<UUID, AccountIdentity> byId;
+
+    public AccountDirectory(AccountRepository accountRepository, TransferProperties transferProperties) {
+        this.accountRepository = accountRepository;
+        Duration ttl = Duration.ofSeconds(transferProperties.getAccountDirectoryTtlSeconds());
+        this.byNumber = Caffeine.newBuilder()
+            .maximumSize(transferProperties.getAccountDirectoryMaxSize())
+            .expireAfterWrite(ttl)
+            .build();
+        this.byId = Caffeine.newBuilder()
+            .maximumSize(transferProperties.getAccountDirectoryMaxSize())
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    // Loads run inside the cache's per-key compute, so an eviction never races with a stale load.
+    public Optional<AccountIdentity> findByNumber(String number) {
+        return Optional.ofNullable(byNumber.get(number, key -> accountRepository.findIdentityByNumber(key).orElse(null)));
+    }
+
+    /**
+     * Resolves many numbers with at most one query for the ones not cached; unknown numbers are missing from
+     * the result. Bulk loads are not atomic with eviction, so a rename racing with one can leave a stale
+     * entry until it expires; the locked re-check in the transfer keeps that harmless.
+     */
+    public Map<String, AccountIdentity> findAllByNumber(Collection<String> numbers) {
+        return byNumber.getAll(numbers, missing -> {
+            Map<String, AccountIdentity> loaded = new HashMap<>();
+            for (AccountIdentity identity : accountRepository.findIdentitiesByNumberIn(Set.copyOf(missing))) {
+                loaded.put(identity.number(), identity);
+            }
+            return loaded;
+        });
+    }
+
+    public Optional<AccountIdentity> findById(UUID id) {
+        return Optional.ofNullable(byId.get(id, key -> accountRepository.findIdentityById(key).orElse(null)));
+    }
+
+    public void evict(UUID id, String number) {
+        byId.invalidate(id);
+        byNumber.invalidate(number);
+    }
+
+    // Evicting before the change commits would let a concurrent lookup cache the old identity again.
+    public void evictAfterCommit(UUID id, String number) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(id, number);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(id, number);
+            }
+        });
+    }
+
+    // For bulk changes made outside AccountService.
+    public void evictAll() {
+        byId.invalidateAll();
+        byNumber.invalidateAll();
+    }
+}
@@ -0,0 +1,323 @@
+package com.main.mini_bank.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import com.main.mini_bank.config.FeedProperties;
+import com.main.mini_bank.enums.TransactionStatus;
+import com.main.mini_bank.model.dto.response.AccountBalanceResponse;
+import com.main.mini_bank.model.dto.response.TransactionResponse;
+import com.main.mini_bank.model.entity.Account;
+import com.main.mini_bank.model.entity.Transaction;
+import com.main.mini_bank.repository.AccountIdentity;
+import com.main.mini_bank.repository.AccountRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes changes to the accounts of connected users as server-sent events, so clients stop polling accounts
+ * and history. Events are fanned out only after the transfer's transaction commits: a {@code transaction}
+ * event to the owners of both accounts, and a {@code balance} event per account whose balance changed. A
+ * balance event carries the balance read when it is sent, so several queued for one account collapse into
+ * one. Every connection has its own bounded buffer drained by a small pool of sender threads, so a slow
+ * client never holds up a transfer or other clients; a connection whose buffer overflows has its backlog
+ * dropped and is sent {@code resync}, after which the client refetches. Only transfers committed on this
+ * instance are pushed.
+ */
+@Service
+public class AccountFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountFeedService.class);
+
+    private final AccountRepository accountRepository;
+    private final FeedProperties feedProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter resyncCounter;
+    private final Map<UUID, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private ExecutorService senders;
+
+    public AccountFeedService(
+        AccountRepository accountRepository,
+        FeedProperties feedProperties,
+        MeterRegistry meterRegistry,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.accountRepository = accountRepository;
+        this.feedProperties = feedProperties;
+        // Balances are read from the primary: a lagging replica could send a balance older than the client's.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.resyncCounter = Counter.builder("bank.feed.resyncs")
+            .description("Feed connections whose buffer overflowed and were told to resync")
+            .register(meterRegistry);
+        Gauge.builder("bank.feed.connections", subscriptions, map -> map.values().stream().mapToInt(Set::size).sum())
+            .description("Open account feed connections")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        senders = Executors.newFixedThreadPool(
+            feedProperties.getSenderThreads(),
+            Thread.ofPlatform().name("account-feed-", 0).factory()
+        );
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        subscriptions.values().forEach(set -> set.forEach(subscription -> subscription.emitter.complete()));
+        senders.shutdownNow();
+        senders.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+        // No timeout: heartbeats find connections the client has dropped.
+        Subscription subscription = new Subscription(userId, new SseEmitter(0L));
+        AtomicBoolean accepted = new AtomicBoolean();
+        subscriptions.compute(userId, (key, current) -> {
+            Set<Subscription> set = current == null ? ConcurrentHashMap.newKeySet() : current;
+            if (set.size() < feedProperties.getMaxConnectionsPerUser()) {
+                set.add(subscription);
+                accepted.set(true);
+            }
+            return set;
+        });
+        if (!accepted.get()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many open feeds for this user");
+        }
+        subscription.emitter.onCompletion(() -> remove(subscription));
+        subscription.emitter.onTimeout(() -> remove(subscription));
+        subscription.emitter.onError(ex -> remove(subscription));
+        return subscription.emitter;
+    }
+
+    /*
+     * Must run inside the transfer's transaction. The caller passes the identities of the accounts it has
+     * already loaded, keyed by id, so nothing is looked up while the transfer holds its row locks; a row
+     * whose accounts are not in the map is not pushed.
+     */
+    public void publishOnCommit(Collection<Transaction> transactions, Map<UUID, AccountIdentity> accounts) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        List<Change> changes = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            AccountIdentity from = accounts.get(transaction.getFromAccount().getId());
+            AccountIdentity to = accounts.get(transaction.getToAccount().getId());
+            if (from == null || to == null
+                || !subscriptions.containsKey(from.ownerId()) && !subscriptions.containsKey(to.ownerId())) {
+                continue;
+            }
+            changes.add(new Change(new TransactionResponse(
+                transaction.getId(),
+                from.id(),
+                from.number(),
+                to.id(),
+                to.number(),
+                transaction.getAmount(),
+                transaction.getTransactionDate(),
+                transaction.getSettledAt(),
+                transaction.getStatus()
+            ), from.ownerId(), to.ownerId()));
+        }
+        if (!changes.isEmpty()) {
+            afterCommit(() -> changes.forEach(this::fanOut));
+        }
+    }
+
+    // For balance changes made outside a transfer, such as folding pending credits into a hot account.
+    public void publishBalanceOnCommit(Account account) {
+        UUID ownerId = account.getUser().getId();
+        if (subscriptions.containsKey(ownerId)) {
+            UUID accountId = account.getId();
+            afterCommit(() -> forEachSubscription(ownerId, subscription -> subscription.offerBalance(accountId)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.feed.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscriptions.values().forEach(set -> set.forEach(Subscription::heartbeat));
+    }
+
+    private void fanOut(Change change) {
+        TransactionResponse transaction = change.transaction();
+        FeedEvent event = FeedEvent.transaction(transaction);
+        forEachSubscription(change.fromOwnerId(), subscription -> subscription.offer(event));
+        if (!change.toOwnerId().equals(change.fromOwnerId())) {
+            forEachSubscription(change.toOwnerId(), subscription -> subscription.offer(event));
+        }
+        if (transaction.getStatus() == TransactionStatus.SUCCESS) {
+            forEachSubscription(change.fromOwnerId(), s -> s.offerBalance(transaction.getFromAccountId()));
+            forEachSubscription(change.toOwnerId(), s -> s.offerBalance(transaction.getToAccountId()));
+        }
+    }
+
+    private void forEachSubscription(UUID userId, Consumer<Subscription> action) {
+        Set<Subscription> set = subscriptions.get(userId);
+        if (set != null) {
+            set.forEach(action);
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        subscription.closed = true;
+        subscriptions.computeIfPresent(subscription.userId, (key, set) -> {
+            set.remove(subscription);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Change(TransactionResponse transaction, UUID fromOwnerId, UUID toOwnerId) {
+    }
+
+    private record FeedEvent(String name, TransactionResponse transaction, UUID accountId) {
+
+        static final FeedEvent HEARTBEAT = new FeedEvent("heartbeat", null, null);
+
+        static FeedEvent transaction(TransactionResponse transaction) {
+            return new FeedEvent("transaction", transaction, null);
+        }
+
+        static FeedEvent balance(UUID accountId) {
+            return new FeedEvent("balance", null, accountId);
+        }
+    }
+
+    /*
+     * One connection. Producers only ever offer to the buffer; whichever producer finds the connection idle
+     * schedules a drain, so at most one sender thread writes to an emitter at a time.
+     */
+    private final class Subscription {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<FeedEvent> buffer = new ArrayBlockingQueue<>(feedProperties.getBufferSize());
+        private final Set<UUID> queuedBalances = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscription(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(FeedEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                buffer.clear();
+                queuedBalances.clear();
+                if (overflowed.compareAndSet(false, true)) {
+                    resyncCounter.increment();
+                }
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        void offerBalance(UUID accountId) {
+            if (queuedBalances.add(accountId)) {
+                offer(FeedEvent.balance(accountId));
+            }
+        }
+
+        void heartbeat() {
+            if (buffer.isEmpty()) {
+                offer(FeedEvent.HEARTBEAT);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    if (overflowed.getAndSet(false)) {
+                        emitter.send(SseEmitter.event().name("resync").data(""));
+                    }
+                    FeedEvent event = buffer.poll();
+                    if (event != null) {
+                        send(event);
+                        continue;
+                    }
+                    draining.set(false);
+                    // Something offered between the poll and clearing the flag would otherwise wait for the next offer.
+                    if (buffer.isEmpty() && !overflowed.get() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // The client has gone away or the emitter was already completed.
+                remove(this);
+                emitter.completeWithError(ex);
+            }
+        }
+
+        private void send(FeedEvent event) throws IOException {
+            switch (event.name()) {
+                case "transaction" -> emitter.send(SseEmitter.event().name("transaction").data(event.transaction()));
+                case "balance" -> sendBalance(event.accountId());
+                default -> emitter.send(SseEmitter.event().comment(event.name()));
+            }
+        }
+
+        private void sendBalance(UUID accountId) throws IOException {
+            queuedBalances.remove(accountId);
+            AccountBalanceResponse balance;
+            try {
+                balance = transactionTemplate.execute(status -> accountRepository.findBalanceById(accountId).orElse(null));
+            } catch (RuntimeException ex) {
+                logger.warn("Failed to read balance of account {} for the feed", accountId, ex);
+                overflowed.set(true);
+                return;
+            }
+            if (balance != null) {
+                emitter.send(SseEmitter.event().name("balance").data(balance));
+            }
+        }
+    }
+}
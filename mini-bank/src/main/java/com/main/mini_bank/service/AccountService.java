@@ -1,8 +1,8 @@
 package com.main.mini_bank.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Locale;
 import java.util.UUID;
 
 import com.main.mini_bank.model.dto.request.AccountCreateRequest;
@@ -11,22 +11,47 @@ import com.main.mini_bank.model.dto.request.AccountUpdateRequest;
 import com.main.mini_bank.model.entity.Account;
 import com.main.mini_bank.model.entity.User;
 import com.main.mini_bank.repository.AccountRepository;
-
+import com.main.mini_bank.repository.AccountSpecifications;
+import com.main.mini_bank.repository.PendingCreditRepository;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class AccountService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final List<String> SORTABLE_PROPERTIES = List.of("number", "name", "balance", "createdAt");
+
     private final AccountRepository accountRepository;
+    private final PendingCreditRepository pendingCreditRepository;
+    private final AccountDirectory accountDirectory;
     private final CurrentUserService currentUserService;
-
-    public AccountService(AccountRepository accountRepository, CurrentUserService currentUserService) {
+    private final JournalService journalService;
+
+    public AccountService(
+        AccountRepository accountRepository,
+        PendingCreditRepository pendingCreditRepository,
+        AccountDirectory accountDirectory,
+        CurrentUserService currentUserService,
+        JournalService journalService
+    ) {
         this.accountRepository = accountRepository;
+        this.pendingCreditRepository = pendingCreditRepository;
+        this.accountDirectory = accountDirectory;
         this.currentUserService = currentUserService;
+        this.journalService = journalService;
     }
 
+    @Transactional
     public AccountResponse create(AccountCreateRequest request) {
         User user = currentUserService.getCurrentUser();
         String number = request.getNumber().trim();
@@ -50,41 +75,73 @@ public class AccountService {
         account.setBalance(balance);
         account.setUser(user);
 
-        Account saved = accountRepository.save(account);
+        Account saved = saveUnique(account);
+        journalService.postOpeningBalance(saved, LocalDateTime.now());
         return toResponse(saved);
     }
 
-    public List<AccountResponse> search(String number, String name) {
-        User user = currentUserService.getCurrentUser();
+    /**
+     * Filters the caller's accounts in the database with case-insensitive partial matches. Without page and
+     * size every match is returned; with either, one page of at most {@value #MAX_PAGE_SIZE} accounts.
+     * The total number of matches is always reported.
+     */
+    @Transactional(readOnly = true)
+    public AccountPage search(String number, String name, Integer page, Integer size, String sort) {
+        UUID userId = currentUserService.getCurrentUserId();
+        Specification<Account> spec = AccountSpecifications.ownedBy(userId);
         String numberQuery = normalizeQueryParam(number);
+        if (numberQuery != null) {
+            spec = spec.and(AccountSpecifications.numberContains(numberQuery));
+        }
         String nameQuery = normalizeQueryParam(name);
-        String numberFilter = numberQuery == null ? null : numberQuery.toLowerCase(Locale.ROOT);
-        String nameFilter = nameQuery == null ? null : nameQuery.toLowerCase(Locale.ROOT);
-
-        // Apply case-insensitive filters in memory for consistent matching.
-        return accountRepository.findByUserId(user.getId()).stream()
-            .filter(account -> matchesFilter(account.getNumber(), numberFilter))
-            .filter(account -> matchesFilter(account.getName(), nameFilter))
-            .map(this::toResponse)
-            .toList();
+        if (nameQuery != null) {
+            spec = spec.and(AccountSpecifications.nameContains(nameQuery));
+        }
+        Sort order = parseSort(sort);
+
+        if (page == null && size == null) {
+            List<AccountResponse> items = accountRepository.findAll(spec, order).stream()
+                .map(this::toResponse)
+                .toList();
+            return new AccountPage(items, items.size());
+        }
+
+        int pageNumber = page == null ? 0 : page;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageNumber < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "Page must be non-negative and size between 1 and " + MAX_PAGE_SIZE
+            );
+        }
+        Page<Account> result = accountRepository.findAll(spec, PageRequest.of(pageNumber, pageSize, order));
+        return new AccountPage(result.map(this::toResponse).getContent(), result.getTotalElements());
     }
 
+    @Transactional(readOnly = true)
     public AccountResponse getById(UUID id) {
-        User user = currentUserService.getCurrentUser();
-        Account account = accountRepository.findByIdAndUserId(id, user.getId())
+        UUID userId = currentUserService.getCurrentUserId();
+        Account account = accountRepository.findByIdAndUserId(id, userId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found"));
         return toResponse(account);
     }
 
+    /**
+     * Renames the account in place under its row lock, so a concurrent transfer is waited for instead of
+     * failing the rename on the account's version, and the balance is never written back from a stale copy.
+     */
+    @Transactional
     public AccountResponse update(UUID id, AccountUpdateRequest request) {
-        User user = currentUserService.getCurrentUser();
-        Account account = accountRepository.findByIdAndUserId(id, user.getId())
+        UUID userId = currentUserService.getCurrentUserId();
+        Account account = accountRepository.findByIdForUpdate(id)
+            .filter(candidate -> candidate.getUser().getId().equals(userId))
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found"));
 
         String number = request.getNumber().trim();
         String name = request.getName().trim();
 
-        if (!number.equals(account.getNumber()) && accountRepository.existsByNumber(number)) {
+        String previousNumber = account.getNumber();
+        if (!number.equals(previousNumber) && accountRepository.existsByNumber(number)) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Account number already exists");
         }
         if (!name.equals(account.getName()) && accountRepository.existsByName(name)) {
@@ -93,21 +150,36 @@ public class AccountService {
 
         account.setNumber(number);
         account.setName(name);
-
-        Account saved = accountRepository.save(account);
-        return toResponse(saved);
+        accountDirectory.evictAfterCommit(account.getId(), previousNumber);
+        return toResponse(saveUnique(account));
     }
 
     public void delete(UUID id) {
-        User user = currentUserService.getCurrentUser();
-        Account account = accountRepository.findByIdAndUserId(id, user.getId())
+        UUID userId = currentUserService.getCurrentUserId();
+        Account account = accountRepository.findByIdAndUserId(id, userId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found"));
 
         if (account.getBalance().compareTo(BigDecimal.ZERO) != 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Account balance must be zero to delete");
         }
+        if (pendingCreditRepository.existsByAccountId(account.getId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Account has pending credits");
+        }
 
         accountRepository.delete(account);
+        accountDirectory.evict(account.getId(), account.getNumber());
+    }
+
+    /*
+     * The existence checks read the database, never the TTL-cached directory, but a concurrent request can
+     * still take the number or name between check and insert; the unique constraints settle that race.
+     */
+    private Account saveUnique(Account account) {
+        try {
+            return accountRepository.saveAndFlush(account);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Account number or name already exists");
+        }
     }
 
     private String normalizeQueryParam(String value) {
@@ -118,11 +190,26 @@ public class AccountService {
         return trimmed.isEmpty() ? null : trimmed;
     }
 
-    private boolean matchesFilter(String value, String filter) {
-        if (filter == null) {
-            return true;
+    // Accepts "property" or "property,asc|desc"; the id tie-breaker keeps pages stable across requests.
+    private Sort parseSort(String sort) {
+        String value = normalizeQueryParam(sort);
+        if (value == null) {
+            return Sort.by("number", "id");
+        }
+
+        String[] parts = value.split(",", -1);
+        String property = parts[0].trim();
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length == 2) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim()).orElse(null);
         }
-        return value != null && value.toLowerCase(Locale.ROOT).contains(filter);
+        if (parts.length > 2 || direction == null || !SORTABLE_PROPERTIES.contains(property)) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "Sort must be one of " + String.join(", ", SORTABLE_PROPERTIES) + " optionally followed by ,asc or ,desc"
+            );
+        }
+        return Sort.by(direction, property).and(Sort.by("id"));
     }
 
     private AccountResponse toResponse(Account account) {
@@ -135,4 +222,7 @@ public class AccountService {
             account.getUpdatedAt()
         );
     }
+
+    public record AccountPage(List<AccountResponse> items, long total) {
+    }
 }
@@ -0,0 +1,213 @@
+package com.main.mini_bank.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.main.mini_bank.config.TransferProperties;
+import com.main.mini_bank.model.dto.request.TransferRequest;
+import com.main.mini_bank.model.dto.response.TransferResponse;
+import com.main.mini_bank.repository.PendingTransfer;
+import com.main.mini_bank.repository.TransactionRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Accepts transfers without applying them on the request thread. An accepted transfer is pre-validated and
+ * stored as a PENDING ledger row, then queued on one of a fixed number of worker shards chosen by source
+ * account, so transfers from the same account are always applied by the same worker and never contend with
+ * each other for its row lock. Each worker drains what has queued up and settles it as one batch, locking
+ * every account once. The number of queued transfers is bounded; beyond it submissions are refused with 503.
+ * A batch that fails is settled again one transfer at a time, and a transfer that cannot be settled on its
+ * own is marked FAILED. Rows left PENDING by a transient failure or a restart are picked up again by a
+ * periodic sweep.
+ */
+@Service
+public class AsyncTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncTransferService.class);
+
+    private final TransactionService transactionService;
+    private final TransactionRepository transactionRepository;
+    private final CurrentUserService currentUserService;
+    private final TransferProperties transferProperties;
+    private final List<BlockingQueue<PendingTransfer>> shards = new ArrayList<>();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private ExecutorService workers;
+
+    public AsyncTransferService(
+        TransactionService transactionService,
+        TransactionRepository transactionRepository,
+        CurrentUserService currentUserService,
+        TransferProperties transferProperties
+    ) {
+        this.transactionService = transactionService;
+        this.transactionRepository = transactionRepository;
+        this.currentUserService = currentUserService;
+        this.transferProperties = transferProperties;
+    }
+
+    @PostConstruct
+    void start() {
+        int workerCount = transferProperties.getAsyncWorkers();
+        workers = Executors.newFixedThreadPool(workerCount, Thread.ofPlatform().name("async-transfer-", 0).factory());
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<PendingTransfer> shard = new LinkedBlockingQueue<>();
+            shards.add(shard);
+            workers.execute(() -> work(shard));
+        }
+    }
+
+    // Queued transfers stay PENDING in the database and are picked up by the sweep after the next start.
+    @PreDestroy
+    void stop() throws InterruptedException {
+        workers.shutdownNow();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    public TransferResponse submit(TransferRequest request) {
+        if (queuedCount.incrementAndGet() > transferProperties.getAsyncQueueCapacity()) {
+            queuedCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Transfer queue is full, please retry");
+        }
+        TransferResponse accepted;
+        try {
+            accepted = transactionService.acceptPending(request);
+        } catch (RuntimeException ex) {
+            queuedCount.decrementAndGet();
+            throw ex;
+        }
+        enqueue(new PendingTransfer(
+            accepted.getTransactionId(),
+            currentUserService.getCurrentUserId(),
+            accepted.getFromAccountNumber(),
+            accepted.getToAccountNumber(),
+            accepted.getAmount()
+        ));
+        return accepted;
+    }
+
+    /*
+     * Requeues PENDING rows older than one sweep interval that this instance is not already holding. Each
+     * row keeps the user who submitted it, so a transfer settled after a restart is still checked against
+     * its caller: one whose source account has changed hands since is refused and marked FAILED. Settling
+     * locks each row and skips it once it is no longer PENDING, so a row swept up by more than one instance
+     * is still applied once.
+     */
+    @Scheduled(fixedDelayString = "${app.transfers.async-recovery-interval-ms:60000}")
+    public void requeueStalled() {
+        Duration interval = Duration.ofMillis(transferProperties.getAsyncRecoveryIntervalMs());
+        List<PendingTransfer> stalled = transactionRepository.findPendingAcceptedBefore(
+            LocalDateTime.now().minus(interval),
+            Limit.of(transferProperties.getAsyncQueueCapacity())
+        );
+        int requeued = 0;
+        for (PendingTransfer transfer : stalled) {
+            if (!queued.contains(transfer.transactionId())) {
+                queuedCount.incrementAndGet();
+                enqueue(transfer);
+                requeued++;
+            }
+        }
+        if (requeued > 0) {
+            logger.info("Requeued {} stalled pending transfers", requeued);
+        }
+    }
+
+    private void enqueue(PendingTransfer transfer) {
+        if (!queued.add(transfer.transactionId())) {
+            queuedCount.decrementAndGet();
+            return;
+        }
+        shards.get(Math.floorMod(transfer.fromNumber().hashCode(), shards.size())).add(transfer);
+    }
+
+    private void work(BlockingQueue<PendingTransfer> shard) {
+        int maxBatchSize = transferProperties.getAsyncMaxBatchSize();
+        List<PendingTransfer> batch = new ArrayList<>(maxBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(shard.take());
+            } catch (InterruptedException ex) {
+                return;
+            }
+            shard.drainTo(batch, maxBatchSize - 1);
+            try {
+                settle(batch);
+            } finally {
+                for (PendingTransfer transfer : batch) {
+                    queued.remove(transfer.transactionId());
+                }
+                queuedCount.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    /*
+     * A batch that throws is rolled back as a whole, so it is retried one transfer at a time: a transfer that
+     * cannot be settled must not hold back the rest of its shard. One that still throws is marked FAILED,
+     * unless the failure is transient (no connection, lock timeout, exhausted retries), in which case it stays
+     * PENDING for the sweep.
+     */
+    private void settle(List<PendingTransfer> batch) {
+        if (batch.size() > 1) {
+            try {
+                transactionService.settlePending(batch);
+                return;
+            } catch (RuntimeException ex) {
+                logger.warn("Failed to settle a batch of {} pending transfers; settling them one by one",
+                    batch.size(), ex);
+            }
+        }
+        for (PendingTransfer transfer : batch) {
+            try {
+                transactionService.settlePending(List.of(transfer));
+            } catch (RuntimeException ex) {
+                handleFailure(transfer, ex);
+            }
+        }
+    }
+
+    private void handleFailure(PendingTransfer transfer, RuntimeException ex) {
+        Long id = transfer.transactionId();
+        if (isTransient(ex)) {
+            logger.warn("Failed to settle pending transfer {}; it will be retried by the sweep", id, ex);
+            return;
+        }
+        logger.error("Pending transfer {} cannot be settled; marking it FAILED", id, ex);
+        try {
+            transactionService.failPending(transfer);
+        } catch (RuntimeException failure) {
+            logger.warn("Failed to mark pending transfer {} FAILED; it will be retried by the sweep", id, failure);
+        }
+    }
+
+    private static boolean isTransient(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException
+            || ex instanceof CannotCreateTransactionException
+            || ex instanceof ResponseStatusException status && status.getStatusCode() == HttpStatus.CONFLICT;
+    }
+}
@@ -1,6 +1,6 @@
 package com.main.mini_bank.service;
 
-import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
 import com.main.mini_bank.model.dto.response.AuthResponse;
 import com.main.mini_bank.model.dto.request.LoginRequest;
@@ -25,20 +25,27 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     public AuthService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthenticationManager authenticationManager,
-        JwtService jwtService
+        JwtService jwtService,
+        PasswordHashingExecutor passwordHashingExecutor
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
     }
 
-    public UserResponse register(RegisterRequest request) {
+    /*
+     * Uniqueness is checked on the request thread; hashing and the insert run on the password hashing
+     * executor, which refuses the registration with 503 when its queue is full.
+     */
+    public CompletableFuture<UserResponse> register(RegisterRequest request) {
         String username = request.getUsername().trim();
         String email = request.getEmail().trim();
 
@@ -49,29 +56,36 @@ public class AuthService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already exists");
         }
 
-        User user = new User();
-        user.setUsername(username);
-        user.setEmail(email);
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        return passwordHashingExecutor.submit(() -> {
+            User user = new User();
+            user.setUsername(username);
+            user.setEmail(email);
+            user.setPassword(passwordEncoder.encode(request.getPassword()));
 
-        User saved = userRepository.save(user);
-        return new UserResponse(
-            saved.getId(),
-            saved.getUsername(),
-            saved.getEmail(),
-            saved.getCreatedAt(),
-            saved.getUpdatedAt()
-        );
+            User saved = userRepository.save(user);
+            return new UserResponse(
+                saved.getId(),
+                saved.getUsername(),
+                saved.getEmail(),
+                saved.getCreatedAt(),
+                saved.getUpdatedAt()
+            );
+        });
     }
 
-    public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+    /*
+     * The password check runs on the password hashing executor. A hash with a lower cost than configured is
+     * replaced during authentication (see CustomUserDetailsService#updatePassword). The response carries the
+     * expiry the token was signed with.
+     */
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
+        return passwordHashingExecutor.submit(() -> {
+            Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
+            );
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String token = jwtService.generateToken(userDetails);
-        Instant expiresAt = jwtService.extractExpiration(token);
-        return new AuthResponse(token, "Bearer", expiresAt);
+            JwtService.IssuedToken issued = jwtService.issueToken((UserDetails) authentication.getPrincipal());
+            return new AuthResponse(issued.token(), "Bearer", issued.expiresAt());
+        });
     }
 }
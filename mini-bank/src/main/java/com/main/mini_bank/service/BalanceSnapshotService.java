@@ -0,0 +1,244 @@
+package com.main.mini_bank.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.main.mini_bank.config.TransferProperties;
+import com.main.mini_bank.enums.TransactionStatus;
+import com.main.mini_bank.model.entity.DailyBalance;
+import com.main.mini_bank.model.entity.SnapshotWatermark;
+import com.main.mini_bank.repository.AccountRepository;
+import com.main.mini_bank.repository.AccountTotals;
+import com.main.mini_bank.repository.DailyBalanceRepository;
+import com.main.mini_bank.repository.DailyTotals;
+import com.main.mini_bank.repository.PendingCreditRepository;
+import com.main.mini_bank.repository.SettledDeferral;
+import com.main.mini_bank.repository.SnapshotDeferralRepository;
+import com.main.mini_bank.repository.SnapshotWatermarkRepository;
+import com.main.mini_bank.repository.TransactionRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Maintains end-of-day balances per account from the ledger. A scheduled job closes each finished day once,
+ * in order: it sums the day's successful debits and credits per active account and rolls the previous
+ * closing balance forward, so a day costs one aggregate over that day's rows. Quiet days write nothing.
+ * The first snapshot of an account is seeded from its current balance, including pending hot-account
+ * credits, minus everything that happened after the day. A day is closed only after a grace period, so
+ * transfers that commit just after midnight are not missed. A day with asynchronous transfers still PENDING
+ * waits for them only as long as the recovery sweep takes to requeue a stalled one; after that it is closed
+ * without them and they are recorded as deferred. Once a deferred transfer settles, the next run adds it to
+ * that day's and every later day's balances of both accounts, so a stuck transfer holds back nothing but
+ * itself. Balances are those of the ledger: a transfer counts on the day it was submitted, even when it
+ * settled after midnight, and a credit to a hot account counts then too, not when it is folded.
+ */
+@Service
+public class BalanceSnapshotService {
+
+    // Upper bound for "everything after" ledger queries.
+    private static final LocalDateTime FAR_FUTURE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSnapshotService.class);
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final PendingCreditRepository pendingCreditRepository;
+    private final DailyBalanceRepository dailyBalanceRepository;
+    private final SnapshotWatermarkRepository snapshotWatermarkRepository;
+    private final SnapshotDeferralRepository snapshotDeferralRepository;
+    private final TransferProperties transferProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public BalanceSnapshotService(
+        TransactionRepository transactionRepository,
+        AccountRepository accountRepository,
+        PendingCreditRepository pendingCreditRepository,
+        DailyBalanceRepository dailyBalanceRepository,
+        SnapshotWatermarkRepository snapshotWatermarkRepository,
+        SnapshotDeferralRepository snapshotDeferralRepository,
+        TransferProperties transferProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.pendingCreditRepository = pendingCreditRepository;
+        this.dailyBalanceRepository = dailyBalanceRepository;
+        this.snapshotWatermarkRepository = snapshotWatermarkRepository;
+        this.snapshotDeferralRepository = snapshotDeferralRepository;
+        this.transferProperties = transferProperties;
+        // The seed compares a current balance with later ledger rows; both must come from one snapshot.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @Scheduled(fixedDelayString = "${app.transfers.balance-snapshot-interval-ms:3600000}")
+    public void closeDays() {
+        LocalDate lastClosable = LocalDateTime.now()
+            .minusMinutes(transferProperties.getBalanceSnapshotGraceMinutes())
+            .toLocalDate()
+            .minusDays(1);
+        // One day per transaction, so a long catch-up commits as it goes.
+        try {
+            boolean progressed;
+            do {
+                progressed = Boolean.TRUE.equals(transactionTemplate.execute(status -> closeNextDay(lastClosable)));
+            } while (progressed);
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to close daily balances", ex);
+        }
+    }
+
+    // Null until the job has run once.
+    public LocalDate closedThrough() {
+        return snapshotWatermarkRepository.findById(SnapshotWatermark.ID)
+            .map(SnapshotWatermark::getClosedThrough)
+            .orElse(null);
+    }
+
+    /*
+     * Balance at the end of date. Closed days come from the nearest snapshot (an account with no snapshot
+     * up to date takes the opening balance of its next one); later days add the ledger tail since the
+     * watermark. Only before the first run does this fall back to the account's whole history.
+     */
+    public BigDecimal balanceAt(UUID accountId, LocalDate closedThrough, LocalDate date) {
+        if (closedThrough == null) {
+            return ledgerBalance(accountId).subtract(net(accountId, date.plusDays(1).atStartOfDay(), FAR_FUTURE));
+        }
+        if (date.equals(closedThrough)) {
+            return closedBalance(accountId, closedThrough);
+        }
+        if (date.isAfter(closedThrough)) {
+            BigDecimal closed = closedBalance(accountId, closedThrough);
+            return closed.add(net(accountId, closedThrough.plusDays(1).atStartOfDay(), date.plusDays(1).atStartOfDay()));
+        }
+        DailyBalance latest = first(dailyBalanceRepository.findLatestOnOrBefore(accountId, date, Limit.of(1)));
+        if (latest != null) {
+            return latest.getClosingBalance();
+        }
+        DailyBalance next = first(dailyBalanceRepository.findEarliestAfter(accountId, date, Limit.of(1)));
+        if (next != null) {
+            return next.getOpeningBalance();
+        }
+        return closedBalance(accountId, closedThrough);
+    }
+
+    private Boolean closeNextDay(LocalDate lastClosable) {
+        SnapshotWatermark watermark = snapshotWatermarkRepository.findByIdForUpdate(SnapshotWatermark.ID).orElse(null);
+        if (watermark == null) {
+            // First run: start at the earliest ledger day so existing history is covered.
+            LocalDate firstDay = transactionRepository.findEarliestSuccessfulTransactionDate()
+                .map(LocalDateTime::toLocalDate)
+                .orElse(lastClosable.plusDays(1));
+            snapshotWatermarkRepository.save(new SnapshotWatermark(firstDay.minusDays(1)));
+            return true;
+        }
+
+        // In the same snapshot as any seed below, so a seed never already holds a transfer added here.
+        applySettledDeferrals();
+
+        LocalDate day = watermark.getClosedThrough().plusDays(1);
+        if (day.isAfter(lastClosable)) {
+            return false;
+        }
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        if (transactionRepository.existsPendingBetween(day.atStartOfDay(), end)) {
+            if (LocalDateTime.now().isBefore(pendingDeadline(end))) {
+                logger.info("Not closing {} yet: transfers submitted that day are still pending", day);
+                return false;
+            }
+            int deferred = snapshotDeferralRepository.deferPending(day, day.atStartOfDay(), end);
+            logger.warn("Closing {} without {} transfers still pending; they are added once settled", day, deferred);
+        }
+        for (AccountTotals totals : transactionRepository.findAccountTotals(day.atStartOfDay(), end)) {
+            UUID accountId = totals.accountId();
+            DailyBalance previous = first(dailyBalanceRepository.findLatestOnOrBefore(accountId, day.minusDays(1), Limit.of(1)));
+            BigDecimal closing = previous != null
+                ? previous.getClosingBalance().add(totals.credits()).subtract(totals.debits())
+                : ledgerBalance(accountId).subtract(net(accountId, end, FAR_FUTURE));
+            dailyBalanceRepository.insert(accountId, day, totals.debits(), totals.credits(), closing);
+        }
+        watermark.setClosedThrough(day);
+        return true;
+    }
+
+    // The sweep requeues a stalled transfer within two of its intervals; one still PENDING after that is stuck.
+    private LocalDateTime pendingDeadline(LocalDateTime end) {
+        return end.plusMinutes(transferProperties.getBalanceSnapshotGraceMinutes())
+            .plus(Duration.ofMillis(2L * transferProperties.getAsyncRecoveryIntervalMs()));
+    }
+
+    private void applySettledDeferrals() {
+        List<SettledDeferral> settled = snapshotDeferralRepository.findSettled();
+        for (SettledDeferral deferral : settled) {
+            if (deferral.status() == TransactionStatus.SUCCESS) {
+                addLate(deferral.fromAccountId(), deferral.balanceDate(), deferral.amount(), BigDecimal.ZERO);
+                addLate(deferral.toAccountId(), deferral.balanceDate(), BigDecimal.ZERO, deferral.amount());
+            }
+        }
+        if (!settled.isEmpty()) {
+            snapshotDeferralRepository.deleteAllByIdInBatch(settled.stream().map(SettledDeferral::transactionId).toList());
+            logger.info("Added {} transfers settled after their day was closed", settled.size());
+        }
+    }
+
+    /*
+     * Adds a transfer to the closed day it was submitted on and carries it into every later closing balance.
+     * Without a row for that day one is written from the balance the account had then; an account with no
+     * snapshot at all still falls back to the ledger, which already holds the transfer.
+     */
+    private void addLate(UUID accountId, LocalDate day, BigDecimal debit, BigDecimal credit) {
+        BigDecimal delta = credit.subtract(debit);
+        if (dailyBalanceRepository.addToDay(accountId, day, debit, credit) == 0) {
+            List<BigDecimal> opening = dailyBalanceRepository.findClosingBalancesBefore(accountId, day, Limit.of(1));
+            if (opening.isEmpty()) {
+                opening = dailyBalanceRepository.findOpeningBalancesAfter(accountId, day, Limit.of(1));
+            }
+            if (!opening.isEmpty()) {
+                dailyBalanceRepository.insert(accountId, day, debit, credit, opening.get(0).add(delta));
+            }
+        }
+        dailyBalanceRepository.shiftClosingBalancesAfter(accountId, day, delta);
+    }
+
+    private BigDecimal closedBalance(UUID accountId, LocalDate closedThrough) {
+        DailyBalance latest = first(dailyBalanceRepository.findLatestOnOrBefore(accountId, closedThrough, Limit.of(1)));
+        if (latest != null) {
+            return latest.getClosingBalance();
+        }
+        return ledgerBalance(accountId).subtract(net(accountId, closedThrough.plusDays(1).atStartOfDay(), FAR_FUTURE));
+    }
+
+    // Current balance plus credits recorded in the ledger but not yet folded into a hot account.
+    private BigDecimal ledgerBalance(UUID accountId) {
+        BigDecimal balance = accountRepository.findById(accountId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found"))
+            .getBalance();
+        return balance.add(pendingCreditRepository.sumAmountByAccountId(accountId));
+    }
+
+    private BigDecimal net(UUID accountId, LocalDateTime start, LocalDateTime end) {
+        BigDecimal net = BigDecimal.ZERO;
+        for (DailyTotals totals : transactionRepository.findDailyTotals(accountId, start, end)) {
+            net = net.add(totals.credits()).subtract(totals.debits());
+        }
+        return net;
+    }
+
+    private static DailyBalance first(List<DailyBalance> rows) {
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+}
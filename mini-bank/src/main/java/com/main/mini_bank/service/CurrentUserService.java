@@ -1,12 +1,14 @@
 package com.main.mini_bank.service;
 
+import java.util.UUID;
+
 import com.main.mini_bank.model.entity.User;
+import com.main.mini_bank.model.security.AuthenticatedUser;
 import com.main.mini_bank.repository.UserRepository;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -19,18 +21,25 @@ public class CurrentUserService {
         this.userRepository = userRepository;
     }
 
-    public User getCurrentUser() {
+    public AuthenticatedUser getCurrentPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated");
         }
 
         Object principal = authentication.getPrincipal();
-        if (!(principal instanceof UserDetails userDetails)) {
+        if (!(principal instanceof AuthenticatedUser authenticatedUser)) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated");
         }
+        return authenticatedUser;
+    }
 
-        return userRepository.findByUsername(userDetails.getUsername())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
+    public UUID getCurrentUserId() {
+        return getCurrentPrincipal().getId();
+    }
+
+    // Returns an uninitialized reference; use it to associate entities with the caller without a users query.
+    public User getCurrentUser() {
+        return userRepository.getReferenceById(getCurrentUserId());
     }
 }
@@ -2,31 +2,51 @@ package com.main.mini_bank.service;
 
 import java.util.List;
 
+import com.main.mini_bank.config.AdminProperties;
 import com.main.mini_bank.model.entity.User;
+import com.main.mini_bank.model.security.AuthenticatedUser;
 import com.main.mini_bank.repository.UserRepository;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final List<GrantedAuthority> ADMIN = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
 
     private final UserRepository userRepository;
+    private final AdminProperties adminProperties;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, AdminProperties adminProperties) {
         this.userRepository = userRepository;
+        this.adminProperties = adminProperties;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return new org.springframework.security.core.userdetails.User(
-            user.getUsername(),
-            user.getPassword(),
-            List.of()
-        );
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(), authorities(username));
+    }
+
+    // Called by the authentication provider after a successful login whose stored hash needs upgrading.
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+            .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        user.setPassword(newPassword);
+        return new AuthenticatedUser(user.getId(), user.getUsername(), newPassword, authorities(user.getUsername()));
+    }
+
+    private List<GrantedAuthority> authorities(String username) {
+        return adminProperties.getUsernames().contains(username) ? ADMIN : List.of();
     }
 }
@@ -0,0 +1,98 @@
+package com.main.mini_bank.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Event log kept in the application's database (see migration V17), shared by every instance. Offsets are
+ * consecutive positions handed out under a lock on the log's head row. An append joins the caller's
+ * transaction, so when the relay moves outbox rows here they are appended and deleted from the outbox
+ * atomically. Entries are kept; consumer offsets are rows in {@code transfer_event_consumers}.
+ */
+public class DatabaseEventLog implements EventLog {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public DatabaseEventLog(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void append(List<String> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Long head = jdbcTemplate.queryForObject(
+                "select next_offset from transfer_event_log_head where id = 1 for update",
+                Long.class
+            );
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> rows = new ArrayList<>(events.size());
+            for (int i = 0; i < events.size(); i++) {
+                rows.add(new Object[] {head + i, events.get(i), now});
+            }
+            jdbcTemplate.batchUpdate(
+                "insert into transfer_event_log (log_offset, payload, appended_at) values (?, ?, ?)",
+                rows
+            );
+            jdbcTemplate.update(
+                "update transfer_event_log_head set next_offset = ? where id = 1",
+                head + events.size()
+            );
+        });
+    }
+
+    @Override
+    public List<Entry> read(long offset, int max) {
+        return jdbcTemplate.query(
+            "select log_offset, payload from transfer_event_log where log_offset >= ? order by log_offset limit ?",
+            (rs, rowNum) -> {
+                long position = rs.getLong("log_offset");
+                return new Entry(position, position + 1, rs.getString("payload"));
+            },
+            Math.max(offset, 0),
+            max
+        );
+    }
+
+    @Override
+    public long committedOffset(String consumer) {
+        List<Long> offsets = jdbcTemplate.queryForList(
+            "select committed_offset from transfer_event_consumers where consumer = ?",
+            Long.class,
+            EventLog.requireConsumerName(consumer)
+        );
+        return offsets.isEmpty() ? 0 : offsets.get(0);
+    }
+
+    @Override
+    public void commit(String consumer, long offset) {
+        String name = EventLog.requireConsumerName(consumer);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int updated = jdbcTemplate.update(
+            "update transfer_event_consumers set committed_offset = ?, updated_at = ? where consumer = ?",
+            offset,
+            now,
+            name
+        );
+        if (updated == 0) {
+            jdbcTemplate.update(
+                "insert into transfer_event_consumers (consumer, committed_offset, updated_at) values (?, ?, ?)",
+                name,
+                offset,
+                now
+            );
+        }
+    }
+}
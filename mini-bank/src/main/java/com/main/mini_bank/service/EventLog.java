@@ -0,0 +1,39 @@
+package com.main.mini_bank.service;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Append-only feed of transfer events that consumers read at their own pace. Offsets are opaque positions in
+ * the log; each consumer commits the {@link Entry#nextOffset()} of the last entry it has processed and resumes
+ * from there. Delivery is at least once: an event may be appended again if the relay fails after appending,
+ * so consumers deduplicate on the event's {@code transactionId}.
+ */
+public interface EventLog {
+
+    Pattern CONSUMER_NAME = Pattern.compile("[A-Za-z0-9_-]{1,100}");
+
+    // Returns once the events are durable in the log.
+    void append(List<String> events);
+
+    List<Entry> read(long offset, int max);
+
+    // Zero for a consumer that has not committed yet.
+    long committedOffset(String consumer);
+
+    void commit(String consumer, long offset);
+
+    default List<Entry> poll(String consumer, int max) {
+        return read(committedOffset(consumer), max);
+    }
+
+    static String requireConsumerName(String consumer) {
+        if (consumer == null || !CONSUMER_NAME.matcher(consumer).matches()) {
+            throw new IllegalArgumentException("Consumer names are 1-100 letters, digits, '-' or '_'");
+        }
+        return consumer;
+    }
+
+    record Entry(long offset, long nextOffset, String payload) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.main.mini_bank.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Event log as a newline-delimited JSON file local to this instance. Offsets are byte positions of lines;
+ * a line is only visible once its newline has been written, and a torn line left by a crash is cut off when
+ * the log is opened, so it never merges with the next append. Each
+ * consumer's offset is a small file in a directory next to the log, replaced atomically on commit.
+ */
+public class FileEventLog implements EventLog {
+
+    private static final int READ_CHUNK = 64 * 1024;
+
+    private final Path logFile;
+    private final Path offsetDirectory;
+    // Appends come from the relay while it holds a database connection, so no synchronized blocks here.
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    public FileEventLog(Path logFile) {
+        this.logFile = logFile.toAbsolutePath();
+        this.offsetDirectory = this.logFile.resolveSibling(this.logFile.getFileName() + ".offsets");
+        try {
+            Files.createDirectories(offsetDirectory);
+            if (Files.exists(this.logFile)) {
+                truncateTornLine();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void append(List<String> events) {
+        StringBuilder lines = new StringBuilder();
+        for (String event : events) {
+            lines.append(event).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        appendLock.lock();
+        try (FileChannel channel = FileChannel.open(
+            logFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND
+        )) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Entry> read(long offset, int max) {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(logFile)) {
+            return entries;
+        }
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long position = Math.max(offset, 0);
+            ByteBuffer chunk = ByteBuffer.allocate(READ_CHUNK);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long lineStart = position;
+            while (entries.size() < max) {
+                chunk.clear();
+                int read = channel.read(chunk, position);
+                if (read <= 0) {
+                    break;
+                }
+                chunk.flip();
+                while (chunk.hasRemaining() && entries.size() < max) {
+                    byte b = chunk.get();
+                    position++;
+                    if (b == '\n') {
+                        entries.add(new Entry(lineStart, position, line.toString(StandardCharsets.UTF_8)));
+                        line.reset();
+                        lineStart = position;
+                    } else {
+                        line.write(b);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return entries;
+    }
+
+    private void truncateTornLine() throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long end = channel.size();
+            ByteBuffer one = ByteBuffer.allocate(1);
+            while (end > 0) {
+                one.clear();
+                channel.read(one, end - 1);
+                if (one.get(0) == '\n') {
+                    break;
+                }
+                end--;
+            }
+            if (end < channel.size()) {
+                channel.truncate(end);
+                channel.force(false);
+            }
+        }
+    }
+
+    @Override
+    public long committedOffset(String consumer) {
+        Path file = offsetDirectory.resolve(EventLog.requireConsumerName(consumer));
+        try {
+            return Files.exists(file) ? Long.parseLong(Files.readString(file).trim()) : 0;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void commit(String consumer, long offset) {
+        Path file = offsetDirectory.resolve(EventLog.requireConsumerName(consumer));
+        try {
+            Path temp = Files.createTempFile(offsetDirectory, consumer, ".tmp");
+            Files.writeString(temp, Long.toString(offset));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.main.mini_bank.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import com.main.mini_bank.config.TransferProperties;
+import com.main.mini_bank.model.entity.Account;
+import com.main.mini_bank.model.entity.PendingCredit;
+import com.main.mini_bank.model.entity.Transaction;
+import com.main.mini_bank.repository.AccountRepository;
+import com.main.mini_bank.repository.PendingCreditRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Credits to accounts flagged as hot are appended to pending_credits instead of updating the account row,
+ * so concurrent transfers into a popular destination do not serialize on its row lock. A scheduled fold
+ * moves pending credits into {@link Account#getBalance()} under a short lock per account. The set of hot
+ * accounts is loaded at startup, after flagging the accounts listed in app.transfers.hot-accounts, and then
+ * reloaded on its own schedule; a flag changed through {@link #setHot} applies on this instance at once and
+ * on the others at their next reload. Until it is loaded every credit takes the row lock, which is slower
+ * but correct.
+ */
+@Service
+public class HotAccountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotAccountService.class);
+
+    private final AccountRepository accountRepository;
+    private final PendingCreditRepository pendingCreditRepository;
+    private final AccountFeedService accountFeedService;
+    private final TransferProperties transferProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Set<String> hotAccountNumbers = Set.of();
+
+    public HotAccountService(
+        AccountRepository accountRepository,
+        PendingCreditRepository pendingCreditRepository,
+        AccountFeedService accountFeedService,
+        TransferProperties transferProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.accountRepository = accountRepository;
+        this.pendingCreditRepository = pendingCreditRepository;
+        this.accountFeedService = accountFeedService;
+        this.transferProperties = transferProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isHot(String accountNumber) {
+        return hotAccountNumbers.contains(accountNumber);
+    }
+
+    public Set<String> hotAccountNumbers() {
+        return hotAccountNumbers;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void loadHotAccounts() {
+        List<String> configured = transferProperties.getHotAccounts();
+        if (!configured.isEmpty()) {
+            Integer flagged = transactionTemplate.execute(
+                status -> accountRepository.updateHot(configured, true, LocalDateTime.now())
+            );
+            logger.info("Flagged {} of the configured accounts {} as hot", flagged, configured);
+        }
+        refreshHotAccounts();
+    }
+
+    @Scheduled(
+        initialDelayString = "${app.transfers.hot-account-refresh-interval-ms:10000}",
+        fixedDelayString = "${app.transfers.hot-account-refresh-interval-ms:10000}"
+    )
+    public void refreshHotAccounts() {
+        try {
+            hotAccountNumbers = Set.copyOf(accountRepository.findNumbersByHotTrue());
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to reload hot accounts; keeping the previous set", ex);
+        }
+    }
+
+    /**
+     * Flags or unflags an account as hot and reloads the set on this instance. Credits already deferred for
+     * an account that is no longer hot are still folded. Returns false when no account has the number.
+     */
+    public boolean setHot(String accountNumber, boolean hot) {
+        boolean exists = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            accountRepository.updateHot(List.of(accountNumber), hot, LocalDateTime.now());
+            return accountRepository.existsByNumber(accountNumber);
+        }));
+        refreshHotAccounts();
+        return exists;
+    }
+
+    // Must run inside the transfer's transaction, after the ledger row has been assigned its id.
+    public void deferCredit(Transaction transaction) {
+        pendingCreditRepository.save(new PendingCredit(
+            transaction.getId(),
+            transaction.getToAccount(),
+            transaction.getAmount(),
+            transaction.getSettledAt()
+        ));
+    }
+
+    @Scheduled(fixedDelayString = "${app.transfers.hot-account-fold-interval-ms:1000}")
+    public void foldPendingCredits() {
+        for (UUID accountId : pendingCreditRepository.findAccountIdsWithPendingCredits()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> fold(accountId));
+            } catch (RuntimeException ex) {
+                logger.warn("Failed to fold pending credits for account {}", accountId, ex);
+            }
+        }
+    }
+
+    private void fold(UUID accountId) {
+        // Pending rows are read after the lock is held, so concurrent folders never apply the same credit twice.
+        Account account = accountRepository.findByIdForUpdate(accountId).orElse(null);
+        if (account == null) {
+            return;
+        }
+
+        List<PendingCredit> pending = pendingCreditRepository.findByAccountId(accountId);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (PendingCredit credit : pending) {
+            total = total.add(credit.getAmount());
+        }
+        pendingCreditRepository.deleteByTransactionIds(
+            pending.stream().map(PendingCredit::getTransactionId).toList()
+        );
+        account.setBalance(account.getBalance().add(total));
+        accountFeedService.publishBalanceOnCommit(account);
+        logger.debug("Folded {} pending credits ({}) into account {}", pending.size(), total, accountId);
+    }
+}
@@ -0,0 +1,172 @@
+package com.main.mini_bank.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.main.mini_bank.config.TransferProperties;
+import com.main.mini_bank.model.dto.response.TransferResponse;
+import com.main.mini_bank.model.entity.IdempotencyRecord;
+import com.main.mini_bank.repository.IdempotencyRecordRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Remembers the response of every transfer submitted with an Idempotency-Key so a retried request gets the
+ * original response instead of a second transfer. Keys are scoped to the user. Recently committed keys are
+ * answered from an in-process cache; the idempotency_keys table is the source of truth, and its primary key
+ * makes a duplicate that slipped past the cache (another instance, a restart, a concurrent retry) fail at
+ * insert, which rolls back its transfer. Keys are purged after the retention period.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransferProperties transferProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<IdempotencyRecord.Key, StoredResponse> recent;
+
+    public IdempotencyService(
+        IdempotencyRecordRepository idempotencyRecordRepository,
+        ObjectMapper objectMapper,
+        TransferProperties transferProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transferProperties = transferProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recent = Caffeine.newBuilder()
+            .maximumSize(transferProperties.getIdempotencyCacheMaxSize())
+            .expireAfterWrite(retention())
+            .build();
+    }
+
+    public static void validateKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters"
+            );
+        }
+    }
+
+    // Identifies the request a key was first used with; amounts are compared by value, so 10 and 10.00 match.
+    public static String fingerprint(String fromNumber, String toNumber, BigDecimal amount) {
+        String canonical = fromNumber + '\n' + toNumber + '\n' + amount.stripTrailingZeros().toPlainString();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    // Hot path: a cache lookup only. Returns null when the key has not been seen by this instance.
+    public TransferResponse findRecent(UUID userId, String key, String requestHash) {
+        return replay(recent.getIfPresent(new IdempotencyRecord.Key(userId, key)), requestHash);
+    }
+
+    // After a duplicate-key failure: reads the response committed by whichever request won.
+    public TransferResponse findStored(UUID userId, String key, String requestHash) {
+        IdempotencyRecord.Key id = new IdempotencyRecord.Key(userId, key);
+        StoredResponse stored = idempotencyRecordRepository.findById(id)
+            .map(record -> new StoredResponse(record.getRequestHash(), deserialize(record.getResponse())))
+            .orElse(null);
+        if (stored != null) {
+            recent.put(id, stored);
+        }
+        return replay(stored, requestHash);
+    }
+
+    /**
+     * Must run inside the transfer's transaction, so the key and the transfer commit or roll back together.
+     * The cache is only populated once the transaction commits.
+     */
+    public TransferResponse record(UUID userId, String key, String requestHash, TransferResponse response) {
+        idempotencyRecordRepository.insert(userId, key, requestHash, serialize(response), LocalDateTime.now());
+        IdempotencyRecord.Key id = new IdempotencyRecord.Key(userId, key);
+        StoredResponse stored = new StoredResponse(requestHash, response);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recent.put(id, stored);
+            }
+        });
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${app.transfers.idempotency-purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention());
+        Integer purged = transactionTemplate.execute(status -> idempotencyRecordRepository.deleteCreatedBefore(cutoff));
+        if (purged != null && purged > 0) {
+            logger.debug("Purged {} idempotency keys created before {}", purged, cutoff);
+        }
+    }
+
+    // Drops the in-memory keys only; duplicates are still answered from the table.
+    public void evictAll() {
+        recent.invalidateAll();
+    }
+
+    private Duration retention() {
+        return Duration.ofHours(transferProperties.getIdempotencyKeyRetentionHours());
+    }
+
+    private static TransferResponse replay(StoredResponse stored, String requestHash) {
+        if (stored == null) {
+            return null;
+        }
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new ResponseStatusException(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                "Idempotency-Key was already used with a different request"
+            );
+        }
+        return stored.response();
+    }
+
+    private String serialize(TransferResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize transfer response", ex);
+        }
+    }
+
+    private TransferResponse deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, TransferResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to deserialize stored transfer response", ex);
+        }
+    }
+
+    private record StoredResponse(String requestHash, TransferResponse response) {
+    }
+}
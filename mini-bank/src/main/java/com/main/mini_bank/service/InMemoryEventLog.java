@@ -0,0 +1,41 @@
+package com.main.mini_bank.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Event log held in memory, standing in for a broker in tests and local runs. Offsets are list indexes.
+ * Nothing survives a restart.
+ */
+public class InMemoryEventLog implements EventLog {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final Map<String, Long> offsets = new ConcurrentHashMap<>();
+
+    @Override
+    public void append(List<String> batch) {
+        events.addAll(batch);
+    }
+
+    @Override
+    public List<Entry> read(long offset, int max) {
+        List<Entry> entries = new ArrayList<>();
+        for (long i = Math.max(offset, 0); i < events.size() && entries.size() < max; i++) {
+            entries.add(new Entry(i, i + 1, events.get((int) i)));
+        }
+        return entries;
+    }
+
+    @Override
+    public long committedOffset(String consumer) {
+        return offsets.getOrDefault(EventLog.requireConsumerName(consumer), 0L);
+    }
+
+    @Override
+    public void commit(String consumer, long offset) {
+        offsets.put(EventLog.requireConsumerName(consumer), offset);
+    }
+}
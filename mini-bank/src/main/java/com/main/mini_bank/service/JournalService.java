@@ -0,0 +1,208 @@
+package com.main.mini_bank.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import com.main.mini_bank.config.TransferProperties;
+import com.main.mini_bank.enums.TransactionStatus;
+import com.main.mini_bank.model.entity.Account;
+import com.main.mini_bank.model.entity.BalanceCheckpoint;
+import com.main.mini_bank.model.entity.JournalEntry;
+import com.main.mini_bank.model.entity.JournalWatermark;
+import com.main.mini_bank.model.entity.Transaction;
+import com.main.mini_bank.repository.AccountRepository;
+import com.main.mini_bank.repository.BalanceCheckpointRepository;
+import com.main.mini_bank.repository.JournalEntryRepository;
+import com.main.mini_bank.repository.JournalWatermarkRepository;
+import com.main.mini_bank.repository.PendingCreditRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * The double-entry journal is the record of every balance change; {@link Account#getBalance()} is a projection
+ * of it that transfers keep current in the same transaction, because the funds check reads it under the row
+ * lock. Postings are only ever appended. A scheduled job rolls each account's checkpoint forward over entries
+ * posted before a grace period, so rebuilding a balance reads one checkpoint plus a short tail instead of the
+ * account's whole history. The same job then rebuilds the balance of every account it checkpointed, so
+ * drift in the projection is corrected from the journal within one interval. A global watermark bounds each
+ * run to the entries posted since the previous one.
+ */
+@Service
+public class JournalService {
+
+    private static final LocalDateTime FAR_PAST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime FAR_FUTURE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalService.class);
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final BalanceCheckpointRepository balanceCheckpointRepository;
+    private final JournalWatermarkRepository journalWatermarkRepository;
+    private final AccountRepository accountRepository;
+    private final PendingCreditRepository pendingCreditRepository;
+    private final TransferProperties transferProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTransactionTemplate;
+
+    public JournalService(
+        JournalEntryRepository journalEntryRepository,
+        BalanceCheckpointRepository balanceCheckpointRepository,
+        JournalWatermarkRepository journalWatermarkRepository,
+        AccountRepository accountRepository,
+        PendingCreditRepository pendingCreditRepository,
+        TransferProperties transferProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.journalEntryRepository = journalEntryRepository;
+        this.balanceCheckpointRepository = balanceCheckpointRepository;
+        this.journalWatermarkRepository = journalWatermarkRepository;
+        this.accountRepository = accountRepository;
+        this.pendingCreditRepository = pendingCreditRepository;
+        this.transferProperties = transferProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A rebuild compares journal postings with pending credits; both must come from one snapshot.
+        this.snapshotTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    // Must run inside the transfer's transaction, after the ledger rows have been assigned their ids.
+    public void postTransfers(Collection<Transaction> transactions) {
+        List<JournalEntry> entries = new ArrayList<>(transactions.size() * 2);
+        for (Transaction transaction : transactions) {
+            if (transaction.getStatus() != TransactionStatus.SUCCESS) {
+                continue;
+            }
+            entries.add(new JournalEntry(
+                transaction.getFromAccount(),
+                transaction.getId(),
+                transaction.getAmount().negate(),
+                transaction.getSettledAt()
+            ));
+            entries.add(new JournalEntry(
+                transaction.getToAccount(),
+                transaction.getId(),
+                transaction.getAmount(),
+                transaction.getSettledAt()
+            ));
+        }
+        journalEntryRepository.saveAll(entries);
+    }
+
+    public void postOpeningBalance(Account account, LocalDateTime now) {
+        if (account.getBalance().signum() != 0) {
+            journalEntryRepository.save(new JournalEntry(account, null, account.getBalance(), now));
+        }
+    }
+
+    /*
+     * Checkpoints and then reconciles the accounts posted to since the watermark. The watermark only moves
+     * once all of them are checkpointed, so an account that failed is picked up again by the next run; a
+     * balance that could not be reconciled is left for the next run that sees the account posted to.
+     */
+    @Scheduled(fixedDelayString = "${app.transfers.journal-checkpoint-interval-ms:600000}")
+    public void checkpoint() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(transferProperties.getJournalCheckpointGraceMinutes());
+        LocalDateTime since = journalWatermarkRepository.findById(JournalWatermark.ID)
+            .map(JournalWatermark::getPostedBefore)
+            .orElse(FAR_PAST);
+        if (!since.isBefore(cutoff)) {
+            return;
+        }
+        boolean complete = true;
+        for (UUID accountId : journalEntryRepository.findAccountIdsPostedBetween(since, cutoff)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> advanceCheckpoint(accountId, cutoff));
+            } catch (RuntimeException ex) {
+                complete = false;
+                logger.warn("Failed to checkpoint journal for account {}", accountId, ex);
+                continue;
+            }
+            try {
+                rebuildBalance(accountId);
+            } catch (ConcurrencyFailureException ex) {
+                logger.debug("Account {} was busy; its balance is reconciled on a later run", accountId, ex);
+            } catch (RuntimeException ex) {
+                logger.warn("Failed to reconcile balance of account {}", accountId, ex);
+            }
+        }
+        if (complete) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> advanceWatermark(cutoff));
+            } catch (RuntimeException ex) {
+                logger.warn("Failed to advance the journal checkpoint watermark", ex);
+            }
+        }
+    }
+
+    /**
+     * Recomputes the balance of an account from its checkpoint and the journal entries posted since, and
+     * corrects {@link Account#getBalance()} if the projection has drifted. Hot-account credits still pending
+     * are part of the journal but not of the balance until folded. Returns the rebuilt balance.
+     */
+    public BigDecimal rebuildBalance(UUID accountId) {
+        return snapshotTransactionTemplate.execute(status -> {
+            Account account = accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found"));
+            BigDecimal rebuilt = journalBalance(accountId)
+                .subtract(pendingCreditRepository.sumAmountByAccountId(accountId));
+            if (account.getBalance().compareTo(rebuilt) != 0) {
+                logger.warn(
+                    "Balance of account {} was {} but the journal gives {}; correcting",
+                    accountId,
+                    account.getBalance(),
+                    rebuilt
+                );
+                account.setBalance(rebuilt);
+            }
+            return rebuilt;
+        });
+    }
+
+    // Sum of every posting to the account: the checkpoint plus the entries it does not cover.
+    private BigDecimal journalBalance(UUID accountId) {
+        BalanceCheckpoint checkpoint = balanceCheckpointRepository.findById(accountId).orElse(null);
+        if (checkpoint == null) {
+            return journalEntryRepository.sumPosted(accountId, FAR_PAST, FAR_FUTURE);
+        }
+        return checkpoint.getBalance()
+            .add(journalEntryRepository.sumPosted(accountId, checkpoint.getPostedBefore(), FAR_FUTURE));
+    }
+
+    private void advanceCheckpoint(UUID accountId, LocalDateTime cutoff) {
+        BalanceCheckpoint checkpoint = balanceCheckpointRepository.findByIdForUpdate(accountId).orElse(null);
+        if (checkpoint == null) {
+            // Concurrent first checkpoints of one account collide on the primary key; the loser is rolled back.
+            BigDecimal posted = journalEntryRepository.sumPosted(accountId, FAR_PAST, cutoff);
+            balanceCheckpointRepository.save(new BalanceCheckpoint(accountId, posted, cutoff));
+            return;
+        }
+        if (!checkpoint.getPostedBefore().isBefore(cutoff)) {
+            return;
+        }
+        checkpoint.advance(journalEntryRepository.sumPosted(accountId, checkpoint.getPostedBefore(), cutoff), cutoff);
+    }
+
+    private void advanceWatermark(LocalDateTime cutoff) {
+        JournalWatermark watermark = journalWatermarkRepository.findByIdForUpdate(JournalWatermark.ID).orElse(null);
+        if (watermark == null) {
+            // Concurrent first runs collide on the primary key; the loser is rolled back.
+            journalWatermarkRepository.save(new JournalWatermark(cutoff));
+        } else if (watermark.getPostedBefore().isBefore(cutoff)) {
+            watermark.setPostedBefore(cutoff);
+        }
+    }
+}
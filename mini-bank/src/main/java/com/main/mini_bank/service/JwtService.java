@@ -3,13 +3,16 @@ package com.main.mini_bank.service;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.UUID;
 
 import javax.crypto.SecretKey;
 
 import com.main.mini_bank.config.JwtProperties;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -20,50 +23,55 @@ import org.springframework.stereotype.Service;
 public class JwtService {
 
     private final JwtProperties jwtProperties;
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
 
     public JwtService(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
+        // Key derivation and parser construction are done once; both are thread-safe and reused per request.
+        this.signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+            .verifyWith(signingKey)
+            .build();
     }
 
     public String generateToken(UserDetails userDetails) {
-        Instant now = Instant.now();
+        return issueToken(userDetails).token();
+    }
+
+    // Returns the expiry written into the token, so callers never parse a token they have just signed.
+    public IssuedToken issueToken(UserDetails userDetails) {
+        // Truncated to the seconds the token encodes, so the returned expiry is exactly the token's.
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
         Instant expiry = now.plus(Duration.ofMinutes(jwtProperties.getAccessTokenValidityMinutes()));
 
-        return Jwts.builder()
+        // A unique token id keeps verified-token cache entries from ever being shared between logins.
+        String token = Jwts.builder()
+            .id(UUID.randomUUID().toString())
             .subject(userDetails.getUsername())
             .issuedAt(Date.from(now))
             .expiration(Date.from(expiry))
-            .signWith(getSigningKey())
+            .signWith(signingKey)
             .compact();
+        return new IssuedToken(token, expiry);
     }
 
-    public String extractUsername(String token) {
-        return parseClaims(token).getSubject();
-    }
-
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    /**
+     * Verifies signature and expiry with a single parse and returns the claims needed for authentication.
+     * Expired or tampered tokens are rejected by the parser with a {@link io.jsonwebtoken.JwtException}.
+     */
+    public VerifiedToken verifyToken(String token) {
+        Claims claims = parseClaims(token);
+        return new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant());
     }
 
-    public Instant extractExpiration(String token) {
-        return parseClaims(token).getExpiration().toInstant();
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).isBefore(Instant.now());
+    private Claims parseClaims(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
-    private Claims parseClaims(String token) {
-        return Jwts.parser()
-            .verifyWith(getSigningKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+    public record IssuedToken(String token, Instant expiresAt) {
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public record VerifiedToken(String username, Instant expiresAt) {
     }
-}
\ No newline at end of file
+}
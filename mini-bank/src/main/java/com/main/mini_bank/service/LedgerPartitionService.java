@@ -0,0 +1,229 @@
+package com.main.mini_bank.service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import com.main.mini_bank.config.LedgerPartitionProperties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the monthly partitions of the transactions table on PostgreSQL (see migrations V11 and V14).
+ * Each run creates the partitions for the current month and the configured number of months ahead; rows
+ * that already landed in the default partition for such a month are moved into it in the same transaction.
+ * The first run happens at startup and a failure there stops the application; later failures turn the
+ * health check DOWN until a run succeeds. Runs also report partitions old enough to archive; moving them
+ * to the archive tablespace is a manual step (see the README), because it rewrites the partition.
+ * Other databases (H2 in tests) keep a plain table and this service does nothing.
+ */
+@Service
+public class LedgerPartitionService implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerPartitionService.class);
+
+    private static final String DEFAULT_PARTITION = "transactions_default";
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("transactions_y(\\d{4})m(\\d{2})");
+    private static final Pattern LEGACY_PARTITION = Pattern.compile("transactions_before_y(\\d{4})m(\\d{2})");
+
+    private static final String PARTITIONS_SQL = """
+        select c.relname as name, coalesce(ts.spcname, '') as tablespace
+        from pg_inherits i
+        join pg_class c on c.oid = i.inhrelid
+        join pg_class p on p.oid = i.inhparent
+        left join pg_tablespace ts on ts.oid = c.reltablespace
+        where p.relname = 'transactions'
+          and p.relnamespace = (select n.oid from pg_namespace n where n.nspname = current_schema())
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerPartitionProperties properties;
+    private volatile Boolean postgres;
+    private volatile YearMonth coveredThrough;
+    private volatile List<String> archivable = List.of();
+    private volatile String lastFailure;
+
+    public LedgerPartitionService(DataSource dataSource, LedgerPartitionProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.properties = properties;
+    }
+
+    // Runs before the application reports ready; an exception here fails startup.
+    @EventListener(ApplicationStartedEvent.class)
+    public void prepare() {
+        if (isManaged()) {
+            run();
+        }
+    }
+
+    @Scheduled(
+        initialDelayString = "${app.ledger.partitions.maintenance-interval-ms:86400000}",
+        fixedDelayString = "${app.ledger.partitions.maintenance-interval-ms:86400000}"
+    )
+    public void maintain() {
+        if (!isManaged()) {
+            return;
+        }
+        try {
+            run();
+        } catch (RuntimeException ex) {
+            lastFailure = ex.getMessage();
+            logger.error("Ledger partition maintenance failed", ex);
+        }
+    }
+
+    /*
+     * DOWN when the last run failed or the partitions no longer reach the current month. Rows are still
+     * accepted then (they go to the default partition), but they pile up there until maintenance recovers.
+     */
+    @Override
+    public Health health() {
+        if (!isManaged()) {
+            return Health.up().withDetail("managed", false).build();
+        }
+        YearMonth covered = coveredThrough;
+        Health.Builder health = lastFailure != null || covered == null || covered.isBefore(YearMonth.now())
+            ? Health.down()
+            : Health.up();
+        if (covered != null) {
+            health.withDetail("coveredThrough", covered.toString());
+        }
+        if (lastFailure != null) {
+            health.withDetail("lastFailure", lastFailure);
+        }
+        if (!archivable.isEmpty()) {
+            health.withDetail("awaitingArchive", archivable);
+        }
+        return health.build();
+    }
+
+    private void run() {
+        Map<String, String> partitions = partitions();
+        if (partitions.isEmpty()) {
+            throw new IllegalStateException("transactions is not partitioned; V11 has not been applied");
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!partitions.containsKey(monthlyName(month))) {
+                createPartition(month);
+            }
+        }
+        coveredThrough = current.plusMonths(properties.getMonthsAhead());
+        archivable = findArchivable(partitions);
+        if (!archivable.isEmpty()) {
+            logger.info("Ledger partitions due for archiving to {}: {}", properties.getArchiveTablespace(), archivable);
+        }
+        lastFailure = null;
+    }
+
+    /*
+     * Built as a plain table and attached, rather than created as a partition, so that rows the default
+     * partition took for this month can be moved in first; attaching checks the default partition no longer
+     * holds any. Attaching also creates the partition's primary key, indexes and foreign keys. The advisory
+     * lock keeps instances running maintenance at the same time from creating the same partition twice.
+     */
+    private void createPartition(YearMonth month) {
+        String name = monthlyName(month);
+        String from = "'" + month.atDay(1) + "'";
+        String to = "'" + month.plusMonths(1).atDay(1) + "'";
+        Integer moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("select pg_advisory_xact_lock(hashtext('ledger_partitions'))");
+            Boolean exists = jdbcTemplate.queryForObject(
+                "select to_regclass(?::text) is not null",
+                Boolean.class,
+                name
+            );
+            if (Boolean.TRUE.equals(exists)) {
+                return null;
+            }
+            jdbcTemplate.execute("create table " + name
+                + " (like transactions including defaults including constraints)");
+            int rows = jdbcTemplate.update("with moved as (delete from " + DEFAULT_PARTITION
+                + " where transaction_date >= " + from + " and transaction_date < " + to
+                + " returning *) insert into " + name + " select * from moved");
+            jdbcTemplate.execute("alter table transactions attach partition " + name
+                + " for values from (" + from + ") to (" + to + ")");
+            return rows;
+        });
+        if (moved != null) {
+            logger.info("Created ledger partition {} ({} rows moved from the default partition)", name, moved);
+        }
+    }
+
+    private List<String> findArchivable(Map<String, String> partitions) {
+        String tablespace = properties.getArchiveTablespace();
+        if (tablespace == null || tablespace.isEmpty()) {
+            return List.of();
+        }
+        YearMonth archiveBefore = YearMonth.now().minusMonths(properties.getArchiveAfterMonths());
+        List<String> due = new ArrayList<>();
+        for (Map.Entry<String, String> partition : partitions.entrySet()) {
+            YearMonth end = endOf(partition.getKey());
+            if (end != null && !end.isAfter(archiveBefore) && !tablespace.equals(partition.getValue())) {
+                due.add(partition.getKey());
+            }
+        }
+        due.sort(null);
+        return List.copyOf(due);
+    }
+
+    private Map<String, String> partitions() {
+        Map<String, String> partitions = new HashMap<>();
+        jdbcTemplate.query(PARTITIONS_SQL, rs -> {
+            partitions.put(rs.getString("name"), rs.getString("tablespace"));
+        });
+        return partitions;
+    }
+
+    // First month after the partition's range, or null for tables this service does not manage.
+    private static YearMonth endOf(String partition) {
+        Matcher monthly = MONTHLY_PARTITION.matcher(partition);
+        if (monthly.matches()) {
+            return YearMonth.of(Integer.parseInt(monthly.group(1)), Integer.parseInt(monthly.group(2))).plusMonths(1);
+        }
+        Matcher legacy = LEGACY_PARTITION.matcher(partition);
+        if (legacy.matches()) {
+            return YearMonth.of(Integer.parseInt(legacy.group(1)), Integer.parseInt(legacy.group(2)));
+        }
+        return null;
+    }
+
+    private static String monthlyName(YearMonth month) {
+        return String.format("transactions_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private boolean isManaged() {
+        return properties.getEnabled() && isPostgres();
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+            );
+            postgres = "PostgreSQL".equals(product);
+        }
+        return postgres;
+    }
+}
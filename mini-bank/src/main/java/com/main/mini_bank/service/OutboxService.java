@@ -0,0 +1,121 @@
+package com.main.mini_bank.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import com.main.mini_bank.config.OutboxProperties;
+import com.main.mini_bank.enums.TransactionStatus;
+import com.main.mini_bank.model.entity.OutboxEvent;
+import com.main.mini_bank.model.entity.Transaction;
+import com.main.mini_bank.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publishes finished transfers to the {@link EventLog} through a transactional outbox, so consumers follow
+ * the log instead of polling the ledger. The event row is written in the transfer's own transaction; a
+ * scheduled relay moves rows to the log in batches and deletes them only after the log has them, which makes
+ * delivery at least once. Rows are relayed in id order, which is close to but not strictly commit order.
+ */
+@Service
+public class OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventLog eventLog;
+    private final OutboxProperties outboxProperties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public OutboxService(
+        OutboxEventRepository outboxEventRepository,
+        EventLog eventLog,
+        OutboxProperties outboxProperties,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventLog = eventLog;
+        this.outboxProperties = outboxProperties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Must run inside the transfer's transaction, after the ledger rows have been assigned their ids.
+    public void append(Collection<Transaction> transactions) {
+        List<OutboxEvent> events = new ArrayList<>(transactions.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Transaction transaction : transactions) {
+            if (transaction.getStatus() == TransactionStatus.PENDING) {
+                continue;
+            }
+            TransferEvent event = new TransferEvent(
+                transaction.getId(),
+                transaction.getStatus(),
+                transaction.getFromAccount().getId(),
+                transaction.getToAccount().getId(),
+                transaction.getAmount(),
+                transaction.getTransactionDate(),
+                transaction.getSettledAt()
+            );
+            events.add(new OutboxEvent(transaction.getId(), toJson(event), now));
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        int batchSize = outboxProperties.getRelayBatchSize();
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch(batchSize));
+            } while (relayed != null && relayed == batchSize);
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to relay outbox events", ex);
+        }
+    }
+
+    private int relayBatch(int batchSize) {
+        List<OutboxEvent> batch = outboxEventRepository.findBatchForUpdate(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        eventLog.append(batch.stream().map(OutboxEvent::getPayload).toList());
+        outboxEventRepository.deleteAllInBatch(batch);
+        return batch.size();
+    }
+
+    private String toJson(TransferEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize transfer event", ex);
+        }
+    }
+
+    private record TransferEvent(
+        Long transactionId,
+        TransactionStatus status,
+        UUID fromAccountId,
+        UUID toAccountId,
+        BigDecimal amount,
+        LocalDateTime submittedAt,
+        LocalDateTime occurredAt
+    ) {
+    }
+}
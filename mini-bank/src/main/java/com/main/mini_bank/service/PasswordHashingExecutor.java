@@ -0,0 +1,69 @@
+package com.main.mini_bank.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.main.mini_bank.config.PasswordProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Runs work that hashes or checks passwords on a fixed pool sized to the CPUs, away from request threads.
+ * BCrypt is deliberately slow, so a burst of sign-ins (everyone logging back in after an outage) would
+ * otherwise occupy every servlet thread and starve transfers. Waiting work is bounded; beyond it requests are
+ * refused with 503 straight away instead of queueing for longer than a client would wait.
+ */
+@Service
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingExecutor(PasswordProperties passwordProperties, MeterRegistry meterRegistry) {
+        int threads = passwordProperties.getHashingThreads() == 0
+            ? Runtime.getRuntime().availableProcessors()
+            : passwordProperties.getHashingThreads();
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(passwordProperties.getHashingQueueCapacity()),
+            Thread.ofPlatform().name("password-hashing-", 0).factory(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.rejectedCounter = Counter.builder("bank.auth.hashing.rejected")
+            .description("Sign-ins and registrations refused because the password hashing queue was full")
+            .register(meterRegistry);
+        Gauge.builder("bank.auth.hashing.queued", executor, pool -> pool.getQueue().size())
+            .description("Sign-ins and registrations waiting for a password hashing thread")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException ex) {
+            rejectedCounter.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many sign-ins in progress, please retry");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.main.mini_bank.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.main.mini_bank.model.dto.response.StatementDayResponse;
+import com.main.mini_bank.model.dto.response.StatementResponse;
+import com.main.mini_bank.model.entity.Account;
+import com.main.mini_bank.model.entity.DailyBalance;
+import com.main.mini_bank.repository.AccountRepository;
+import com.main.mini_bank.repository.DailyBalanceRepository;
+import com.main.mini_bank.repository.DailyTotals;
+import com.main.mini_bank.repository.TransactionRepository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Builds account statements from daily balance snapshots. Days up to the snapshot watermark are read from
+ * account_daily_balances; only the days after it (normally today and possibly yesterday) are summed from
+ * the ledger, so the cost does not grow with the account's history.
+ */
+@Service
+public class StatementService {
+
+    private static final int MAX_STATEMENT_DAYS = 366;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final DailyBalanceRepository dailyBalanceRepository;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final CurrentUserService currentUserService;
+
+    public StatementService(
+        AccountRepository accountRepository,
+        TransactionRepository transactionRepository,
+        DailyBalanceRepository dailyBalanceRepository,
+        BalanceSnapshotService balanceSnapshotService,
+        CurrentUserService currentUserService
+    ) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.dailyBalanceRepository = dailyBalanceRepository;
+        this.balanceSnapshotService = balanceSnapshotService;
+        this.currentUserService = currentUserService;
+    }
+
+    // Repeatable read keeps snapshots, the ledger tail and the current balance consistent with each other.
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public StatementResponse statement(UUID accountId, String fromParam, String toParam) {
+        LocalDate from = parseDate("from", fromParam);
+        LocalDate to = parseDate("to", toParam);
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_STATEMENT_DAYS) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "Statement period must be at most " + MAX_STATEMENT_DAYS + " days"
+            );
+        }
+
+        UUID userId = currentUserService.getCurrentUserId();
+        Account account = accountRepository.findByIdAndUserId(accountId, userId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found"));
+
+        LocalDate closedThrough = balanceSnapshotService.closedThrough();
+        BigDecimal opening = balanceSnapshotService.balanceAt(accountId, closedThrough, from.minusDays(1));
+
+        List<DailyTotals> activity = new ArrayList<>();
+        LocalDate tailStart = from;
+        if (closedThrough != null && !closedThrough.isBefore(from)) {
+            LocalDate snapshotEnd = to.isBefore(closedThrough) ? to : closedThrough;
+            for (DailyBalance snapshot : dailyBalanceRepository.findBetween(accountId, from, snapshotEnd)) {
+                activity.add(new DailyTotals(snapshot.getBalanceDate(), snapshot.getDebits(), snapshot.getCredits()));
+            }
+            tailStart = snapshotEnd.plusDays(1);
+        }
+        if (!tailStart.isAfter(to)) {
+            activity.addAll(transactionRepository.findDailyTotals(
+                accountId,
+                tailStart.atStartOfDay(),
+                to.plusDays(1).atStartOfDay()
+            ));
+        }
+
+        BigDecimal balance = opening;
+        BigDecimal totalDebits = BigDecimal.ZERO;
+        BigDecimal totalCredits = BigDecimal.ZERO;
+        List<StatementDayResponse> days = new ArrayList<>(activity.size());
+        for (DailyTotals day : activity) {
+            balance = balance.add(day.credits()).subtract(day.debits());
+            totalDebits = totalDebits.add(day.debits());
+            totalCredits = totalCredits.add(day.credits());
+            days.add(new StatementDayResponse(day.date(), day.debits(), day.credits(), balance));
+        }
+
+        return new StatementResponse(
+            account.getId(),
+            account.getNumber(),
+            from,
+            to,
+            opening,
+            totalDebits,
+            totalCredits,
+            balance,
+            days
+        );
+    }
+
+    private static LocalDate parseDate(String name, String value) {
+        if (value == null || value.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " is required (yyyy-MM-dd)");
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " must be a date (yyyy-MM-dd)");
+        }
+    }
+}
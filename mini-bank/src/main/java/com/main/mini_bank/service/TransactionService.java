@@ -1,76 +1,260 @@
 package com.main.mini_bank.service;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import com.main.mini_bank.config.TransferProperties;
+
+import com.main.mini_bank.model.dto.request.BatchTransferRequest;
+import com.main.mini_bank.model.dto.response.BatchTransferItemResponse;
+import com.main.mini_bank.model.dto.response.BatchTransferResponse;
 import com.main.mini_bank.model.entity.Account;
 import com.main.mini_bank.model.dto.response.TransactionResponse;
 import com.main.mini_bank.model.dto.request.TransferRequest;
 import com.main.mini_bank.model.dto.response.TransferResponse;
+import com.main.mini_bank.enums.LockingStrategy;
 import com.main.mini_bank.enums.TransactionStatus;
 import com.main.mini_bank.model.entity.Transaction;
-import com.main.mini_bank.model.entity.User;
+import com.main.mini_bank.repository.AccountIdentity;
 import com.main.mini_bank.repository.AccountRepository;
+import com.main.mini_bank.repository.PendingTransfer;
 import com.main.mini_bank.repository.TransactionRepository;
+import com.main.mini_bank.service.TransferMetrics.Mode;
+import com.main.mini_bank.service.TransferMetrics.Outcome;
+import com.main.mini_bank.service.TransferMetrics.Stage;
+import com.main.mini_bank.utils.HistoryCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Service
 public class TransactionService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
     private final CurrentUserService currentUserService;
+    private final HotAccountService hotAccountService;
+    private final AccountDirectory accountDirectory;
+    private final IdempotencyService idempotencyService;
+    private final JournalService journalService;
+    private final OutboxService outboxService;
+    private final AccountFeedService accountFeedService;
+    private final TransferProperties transferProperties;
+    private final TransferMetrics transferMetrics;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
     public TransactionService(
         AccountRepository accountRepository,
         TransactionRepository transactionRepository,
-        CurrentUserService currentUserService
+        CurrentUserService currentUserService,
+        HotAccountService hotAccountService,
+        AccountDirectory accountDirectory,
+        IdempotencyService idempotencyService,
+        JournalService journalService,
+        OutboxService outboxService,
+        AccountFeedService accountFeedService,
+        TransferProperties transferProperties,
+        TransferMetrics transferMetrics,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager
     ) {
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
         this.currentUserService = currentUserService;
+        this.hotAccountService = hotAccountService;
+        this.accountDirectory = accountDirectory;
+        this.idempotencyService = idempotencyService;
+        this.journalService = journalService;
+        this.outboxService = outboxService;
+        this.accountFeedService = accountFeedService;
+        this.transferProperties = transferProperties;
+        this.transferMetrics = transferMetrics;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
-    @Transactional
     public TransferResponse transfer(TransferRequest request) {
+        return transfer(request, null);
+    }
+
+    /**
+     * With an idempotency key, a request already seen with that key returns the stored response without
+     * re-executing. Keys recently committed on this instance are answered from memory; any other duplicate
+     * runs, fails when its key is inserted, is rolled back and then answered from the stored row. Requests
+     * rejected before execution (4xx errors) are not recorded.
+     */
+    public TransferResponse transfer(TransferRequest request, String idempotencyKey) {
+        return transfer(request, idempotencyKey, true);
+    }
+
+    private TransferResponse transfer(TransferRequest request, String idempotencyKey, boolean retryStale) {
         String fromNumber = request.getFromAccountNumber().trim();
         String toNumber = request.getToAccountNumber().trim();
+        UUID userId = currentUserService.getCurrentUserId();
 
-        if (fromNumber.equals(toNumber)) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Transfer accounts must be different");
+        String requestHash = null;
+        if (idempotencyKey != null) {
+            IdempotencyService.validateKey(idempotencyKey);
+            requestHash = IdempotencyService.fingerprint(fromNumber, toNumber, request.getAmount());
+            TransferResponse replay = idempotencyService.findRecent(userId, idempotencyKey, requestHash);
+            if (replay != null) {
+                return replay;
+            }
         }
 
-        // Lock accounts in a stable order to avoid deadlocks during concurrent transfers.
-        String firstLock = fromNumber.compareTo(toNumber) <= 0 ? fromNumber : toNumber;
-        String secondLock = fromNumber.compareTo(toNumber) <= 0 ? toNumber : fromNumber;
+        long startedAt = System.nanoTime();
+        Map<String, AccountIdentity> identities = accountDirectory.findAllByNumber(List.of(fromNumber, toNumber));
+        Rejection rejection = preValidate(fromNumber, toNumber, request.getAmount(), userId, identities);
+        transferMetrics.recordStage(Mode.SINGLE, Stage.PREVALIDATE, startedAt);
+        if (rejection != null) {
+            transferMetrics.recordOutcome(Mode.SINGLE, Outcome.REJECTED);
+            throw new ResponseStatusException(rejection.status(), rejection.message());
+        }
 
-        Account firstAccount = lockAccount(firstLock);
-        Account secondAccount = lockAccount(secondLock);
+        Supplier<TransferResponse> work;
+        if (transferProperties.getLockingStrategy() == LockingStrategy.CONDITIONAL_UPDATE) {
+            AccountIdentity from = identities.get(fromNumber);
+            AccountIdentity to = identities.get(toNumber);
+            work = () -> applyConditionalTransfer(from, to, request.getAmount(), userId);
+        } else {
+            work = () -> applyTransfer(request);
+        }
+        if (idempotencyKey != null) {
+            String hash = requestHash;
+            Supplier<TransferResponse> transfer = work;
+            work = () -> idempotencyService.record(userId, idempotencyKey, hash, transfer.get());
+        }
 
-        Account fromAccount = fromNumber.equals(firstAccount.getNumber()) ? firstAccount : secondAccount;
-        Account toAccount = toNumber.equals(firstAccount.getNumber()) ? firstAccount : secondAccount;
+        try {
+            TransferResponse response = executeTransfer(Mode.SINGLE, work);
+            transferMetrics.recordOutcome(
+                Mode.SINGLE,
+                response.getStatus() == TransactionStatus.SUCCESS ? Outcome.SUCCESS : Outcome.FAILED
+            );
+            return response;
+        } catch (DataIntegrityViolationException ex) {
+            TransferResponse replay = idempotencyKey == null
+                ? null
+                : idempotencyService.findStored(userId, idempotencyKey, requestHash);
+            if (replay == null) {
+                transferMetrics.recordError(Mode.SINGLE, ex, 1);
+                throw ex;
+            }
+            return replay;
+        } catch (StaleIdentityException ex) {
+            // The attempt rolled back and the stale entries were evicted, so the numbers resolve afresh.
+            if (retryStale) {
+                return transfer(request, idempotencyKey, false);
+            }
+            transferMetrics.recordError(Mode.SINGLE, ex, 1);
+            throw ex;
+        } catch (RuntimeException ex) {
+            transferMetrics.recordError(Mode.SINGLE, ex, 1);
+            throw ex;
+        }
+    }
 
-        User user = currentUserService.getCurrentUser();
-        if (!fromAccount.getUser().getId().equals(user.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Cannot transfer from this account");
+    /**
+     * Applies many transfers in one database transaction. Items are pre-validated without locks first; only
+     * the accounts of items that pass are locked, once, up front, in the same global order used by single
+     * transfers, and ledger rows are written as JDBC batches. Items that cannot be applied are reported
+     * individually instead of failing the whole batch. In optimistic mode a version conflict on any account
+     * retries the whole batch.
+     */
+    public BatchTransferResponse transferBatch(BatchTransferRequest request) {
+        UUID userId = currentUserService.getCurrentUserId();
+        List<TransferRequest> transfers = request.getTransfers();
+
+        long startedAt = System.nanoTime();
+        Set<String> numbers = new HashSet<>();
+        for (TransferRequest transfer : transfers) {
+            numbers.add(transfer.getFromAccountNumber().trim());
+            numbers.add(transfer.getToAccountNumber().trim());
         }
+        Map<String, AccountIdentity> identities = accountDirectory.findAllByNumber(numbers);
 
-        BigDecimal amount = request.getAmount();
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount must be greater than zero");
+        String[] rejections = new String[transfers.size()];
+        for (int i = 0; i < transfers.size(); i++) {
+            TransferRequest transfer = transfers.get(i);
+            Rejection rejection = preValidate(
+                transfer.getFromAccountNumber().trim(),
+                transfer.getToAccountNumber().trim(),
+                transfer.getAmount(),
+                userId,
+                identities
+            );
+            if (rejection != null) {
+                rejections[i] = rejection.message();
+            }
+        }
+        transferMetrics.recordStage(Mode.BATCH, Stage.PREVALIDATE, startedAt);
+
+        try {
+            return executeTransfer(Mode.BATCH, () -> applyBatch(transfers, rejections, userId));
+        } catch (RuntimeException ex) {
+            transferMetrics.recordError(Mode.BATCH, ex, transfers.size());
+            throw ex;
         }
+    }
+
+    private TransferResponse applyTransfer(TransferRequest request) {
+        String fromNumber = request.getFromAccountNumber().trim();
+        String toNumber = request.getToAccountNumber().trim();
+
+        boolean deferCredit = hotAccountService.isHot(toNumber);
+        Map<String, Account> accounts = loadAccounts(
+            deferCredit ? List.of(fromNumber) : List.of(fromNumber, toNumber),
+            deferCredit ? List.of(toNumber) : List.of()
+        );
+        Account fromAccount = requireAccount(accounts, fromNumber);
+        Account toAccount = requireAccount(accounts, toNumber);
 
+        // Re-checked on the locked row in case ownership changed after pre-validation.
+        UUID userId = currentUserService.getCurrentUserId();
+        if (!fromAccount.getUser().getId().equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Cannot transfer from this account");
+        }
+
+        BigDecimal amount = request.getAmount();
         LocalDateTime now = LocalDateTime.now();
 
         if (fromAccount.getBalance().compareTo(amount) < 0) {
             Transaction failed = buildTransaction(fromAccount, toAccount, amount, now, TransactionStatus.FAILED);
             transactionRepository.save(failed);
+            recordLedgerRows(List.of(failed), identities(accounts.values()));
             return new TransferResponse(
                 failed.getId(),
                 failed.getStatus(),
@@ -85,10 +269,16 @@ public class TransactionService {
         }
 
         fromAccount.setBalance(fromAccount.getBalance().subtract(amount));
-        toAccount.setBalance(toAccount.getBalance().add(amount));
+        if (!deferCredit) {
+            toAccount.setBalance(toAccount.getBalance().add(amount));
+        }
 
         Transaction success = buildTransaction(fromAccount, toAccount, amount, now, TransactionStatus.SUCCESS);
         transactionRepository.save(success);
+        recordLedgerRows(List.of(success), identities(accounts.values()));
+        if (deferCredit) {
+            hotAccountService.deferCredit(success);
+        }
 
         return new TransferResponse(
             success.getId(),
@@ -103,22 +293,576 @@ public class TransactionService {
         );
     }
 
+    /*
+     * Conditional-update path: nothing is read or locked up front. The debit is one UPDATE that only matches
+     * while the caller owns the account and the balance covers the amount, and the credit is a plain
+     * increment. They are issued in account-number order, the order the locking path uses, so concurrent
+     * transfers cannot deadlock. When the credit had to go first and the debit then fails for lack of
+     * funds, the credit is reversed in the same transaction and a FAILED ledger row is written. Both
+     * updates match on id and number, so identities the directory cached before a renumber or delete match
+     * nothing; the transfer then rolls back with a StaleIdentityException. A credit that is not issued as
+     * an update (deferred to a hot account, or skipped because the debit failed) checks the pair instead.
+     */
+    private TransferResponse applyConditionalTransfer(
+        AccountIdentity from,
+        AccountIdentity to,
+        BigDecimal amount,
+        UUID userId
+    ) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean deferCredit = hotAccountService.isHot(to.number());
+        boolean creditFirst = !deferCredit && to.number().compareTo(from.number()) < 0;
+
+        if (creditFirst) {
+            credit(to, amount, now);
+        }
+        boolean debited = accountRepository.debitIfCovered(from.id(), from.number(), userId, amount, now) == 1;
+        if (debited && !creditFirst && !deferCredit) {
+            credit(to, amount, now);
+        }
+        if (!debited) {
+            // Rare path: find out why the debit matched nothing before deciding between an error and FAILED.
+            AccountIdentity current = accountRepository.findIdentityById(from.id()).orElse(null);
+            if (current == null || !current.number().equals(from.number())) {
+                throw staleIdentity(from);
+            }
+            if (!current.ownerId().equals(userId)) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Cannot transfer from this account");
+            }
+            if (creditFirst) {
+                accountRepository.credit(to.id(), to.number(), amount.negate(), now);
+            }
+        }
+        boolean credited = creditFirst || debited && !deferCredit;
+        if (!credited && !accountRepository.existsByIdAndNumber(to.id(), to.number())) {
+            throw staleIdentity(to);
+        }
+
+        Transaction transaction = buildTransaction(
+            accountRepository.getReferenceById(from.id()),
+            accountRepository.getReferenceById(to.id()),
+            amount,
+            now,
+            debited ? TransactionStatus.SUCCESS : TransactionStatus.FAILED
+        );
+        transactionRepository.save(transaction);
+        Map<UUID, AccountIdentity> accounts = new HashMap<>();
+        accounts.put(from.id(), from);
+        accounts.put(to.id(), to);
+        recordLedgerRows(List.of(transaction), accounts);
+        if (debited && deferCredit) {
+            hotAccountService.deferCredit(transaction);
+        }
+
+        return new TransferResponse(
+            transaction.getId(),
+            transaction.getStatus(),
+            debited ? "Transfer successful" : "Insufficient funds",
+            from.id(),
+            from.number(),
+            to.id(),
+            to.number(),
+            amount,
+            now
+        );
+    }
+
+    private void credit(AccountIdentity account, BigDecimal amount, LocalDateTime now) {
+        if (accountRepository.credit(account.id(), account.number(), amount, now) == 0) {
+            throw staleIdentity(account);
+        }
+    }
+
+    private StaleIdentityException staleIdentity(AccountIdentity account) {
+        accountDirectory.evict(account.id(), account.number());
+        return new StaleIdentityException();
+    }
+
+    private BatchTransferResponse applyBatch(List<TransferRequest> transfers, String[] rejections, UUID userId) {
+        List<SettlementItem> items = new ArrayList<>(transfers.size());
+        for (int i = 0; i < transfers.size(); i++) {
+            TransferRequest transfer = transfers.get(i);
+            items.add(new SettlementItem(
+                transfer.getFromAccountNumber().trim(),
+                transfer.getToAccountNumber().trim(),
+                transfer.getAmount(),
+                userId,
+                rejections[i],
+                null
+            ));
+        }
+        List<SettlementResult> settled = settle(items, Mode.BATCH);
+
+        List<BatchTransferItemResponse> results = new ArrayList<>(items.size());
+        int succeeded = 0;
+        for (int i = 0; i < items.size(); i++) {
+            SettlementItem item = items.get(i);
+            SettlementResult result = settled.get(i);
+            results.add(new BatchTransferItemResponse(
+                i,
+                result.transactionId(),
+                result.status(),
+                result.message(),
+                item.fromNumber(),
+                item.toNumber(),
+                item.amount()
+            ));
+            if (result.status() == TransactionStatus.SUCCESS) {
+                succeeded++;
+            }
+        }
+        return new BatchTransferResponse(succeeded, items.size() - succeeded, results);
+    }
+
+    /**
+     * Pre-validates a transfer and records it as a PENDING ledger row without touching balances, so the caller
+     * can return immediately; {@link #settlePending} applies it later.
+     */
+    public TransferResponse acceptPending(TransferRequest request) {
+        String fromNumber = request.getFromAccountNumber().trim();
+        String toNumber = request.getToAccountNumber().trim();
+        UUID userId = currentUserService.getCurrentUserId();
+
+        long startedAt = System.nanoTime();
+        Map<String, AccountIdentity> identities = accountDirectory.findAllByNumber(List.of(fromNumber, toNumber));
+        Rejection rejection = preValidate(fromNumber, toNumber, request.getAmount(), userId, identities);
+        transferMetrics.recordStage(Mode.ASYNC, Stage.PREVALIDATE, startedAt);
+        if (rejection != null) {
+            transferMetrics.recordOutcome(Mode.ASYNC, Outcome.REJECTED);
+            throw new ResponseStatusException(rejection.status(), rejection.message());
+        }
+        AccountIdentity from = identities.get(fromNumber);
+        AccountIdentity to = identities.get(toNumber);
+
+        LocalDateTime now = LocalDateTime.now();
+        Transaction row = buildTransaction(
+            accountRepository.getReferenceById(from.id()),
+            accountRepository.getReferenceById(to.id()),
+            request.getAmount(),
+            now,
+            TransactionStatus.PENDING
+        );
+        row.setSubmittedBy(userId);
+        Transaction pending = transactionTemplate.execute(status -> transactionRepository.save(row));
+
+        return new TransferResponse(
+            pending.getId(),
+            TransactionStatus.PENDING,
+            "Transfer accepted",
+            from.id(),
+            fromNumber,
+            to.id(),
+            toNumber,
+            request.getAmount(),
+            now
+        );
+    }
+
+    /**
+     * Applies accepted transfers in one transaction through the same locked core as batches. Their ledger
+     * rows are locked first and rows that are no longer PENDING are skipped, so a transfer picked up by two
+     * workers (or two instances) is applied once. Returns the number of transfers applied.
+     */
+    public int settlePending(List<PendingTransfer> transfers) {
+        return executeTransfer(Mode.ASYNC, () -> {
+            Map<Long, Transaction> pendingRows = new HashMap<>();
+            List<Long> ids = transfers.stream().map(PendingTransfer::transactionId).toList();
+            for (Transaction row : transactionRepository.findPendingByIdInForUpdate(ids)) {
+                pendingRows.put(row.getId(), row);
+            }
+
+            List<SettlementItem> items = new ArrayList<>(pendingRows.size());
+            for (PendingTransfer transfer : transfers) {
+                Transaction row = pendingRows.remove(transfer.transactionId());
+                if (row != null) {
+                    items.add(new SettlementItem(
+                        transfer.fromNumber(),
+                        transfer.toNumber(),
+                        transfer.amount(),
+                        transfer.userId(),
+                        null,
+                        row
+                    ));
+                }
+            }
+            if (!items.isEmpty()) {
+                settle(items, Mode.ASYNC);
+            }
+            return items.size();
+        });
+    }
+
+    /**
+     * Marks an accepted transfer FAILED without applying it, for one whose settlement keeps throwing. Does
+     * nothing once the row is no longer PENDING.
+     */
+    public void failPending(PendingTransfer transfer) {
+        // Resolved before the row is locked, for the feed; accounts renumbered since are simply not pushed.
+        Map<UUID, AccountIdentity> accounts = new HashMap<>();
+        for (AccountIdentity account : accountDirectory.findAllByNumber(
+            List.of(transfer.fromNumber(), transfer.toNumber())
+        ).values()) {
+            accounts.put(account.id(), account);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Transaction> rows = transactionRepository.findPendingByIdInForUpdate(
+                List.of(transfer.transactionId())
+            );
+            if (rows.isEmpty()) {
+                return;
+            }
+            rows.get(0).setStatus(TransactionStatus.FAILED);
+            rows.get(0).setSettledAt(LocalDateTime.now());
+            recordLedgerRows(rows, accounts);
+            transferMetrics.recordOutcomesOnCommit(Mode.ASYNC, Map.of(Outcome.ERROR, 1));
+        });
+    }
+
+    // Not read-only: clients poll this right after submitting, so it must not be answered by a lagging replica.
+    @Transactional
+    public TransactionResponse findTransaction(Long id) {
+        UUID userId = currentUserService.getCurrentUserId();
+        return transactionRepository.findVisibleById(id, userId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Transaction not found"));
+    }
+
+    /*
+     * The locked core shared by batches and accepted transfers. Accounts of items that are not already
+     * rejected are locked once, up front, in the global order used by single transfers; hot accounts that are
+     * only credited are read without a lock. Existence and ownership are re-checked on the locked rows. New
+     * ledger rows are written as JDBC batches; an item's PENDING row, when it has one, is finalized in place
+     * (FAILED when the item is rejected), so results line up with items.
+     */
+    private List<SettlementResult> settle(List<SettlementItem> items, Mode mode) {
+        Set<String> sources = new HashSet<>();
+        Set<String> destinations = new HashSet<>();
+        for (SettlementItem item : items) {
+            if (item.rejection() == null) {
+                sources.add(item.fromNumber());
+                destinations.add(item.toNumber());
+            }
+        }
+        Set<String> deferredCredits = new HashSet<>();
+        for (String number : destinations) {
+            if (!sources.contains(number) && hotAccountService.isHot(number)) {
+                deferredCredits.add(number);
+            }
+        }
+        Set<String> lockNumbers = new HashSet<>(sources);
+        lockNumbers.addAll(destinations);
+        lockNumbers.removeAll(deferredCredits);
+        Map<String, Account> accounts = loadAccounts(lockNumbers, deferredCredits);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SettlementResult> results = new ArrayList<>(items.size());
+        Map<Outcome, Integer> outcomes = new EnumMap<>(Outcome.class);
+        Transaction[] ledgerRows = new Transaction[items.size()];
+        List<Transaction> inserts = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            SettlementItem item = items.get(i);
+            Account fromAccount = accounts.get(item.fromNumber());
+            Account toAccount = accounts.get(item.toNumber());
+
+            String rejection = item.rejection();
+            if (rejection == null && (fromAccount == null || toAccount == null)) {
+                rejection = "Account not found";
+            } else if (rejection == null && !fromAccount.getUser().getId().equals(item.userId())) {
+                rejection = "Cannot transfer from this account";
+            }
+            if (rejection != null) {
+                if (item.pendingRow() != null) {
+                    item.pendingRow().setStatus(TransactionStatus.FAILED);
+                    item.pendingRow().setSettledAt(now);
+                }
+                ledgerRows[i] = item.pendingRow();
+                results.add(new SettlementResult(TransactionStatus.FAILED, rejection));
+                outcomes.merge(Outcome.REJECTED, 1, Integer::sum);
+                continue;
+            }
+
+            BigDecimal amount = item.amount();
+            TransactionStatus status;
+            String message;
+            if (fromAccount.getBalance().compareTo(amount) < 0) {
+                status = TransactionStatus.FAILED;
+                message = "Insufficient funds";
+            } else {
+                fromAccount.setBalance(fromAccount.getBalance().subtract(amount));
+                if (!deferredCredits.contains(item.toNumber())) {
+                    toAccount.setBalance(toAccount.getBalance().add(amount));
+                }
+                status = TransactionStatus.SUCCESS;
+                message = "Transfer successful";
+            }
+            if (item.pendingRow() != null) {
+                // Keeps its submission date, so history cursors and the row's partition stay valid.
+                item.pendingRow().setStatus(status);
+                item.pendingRow().setSettledAt(now);
+                ledgerRows[i] = item.pendingRow();
+            } else {
+                ledgerRows[i] = buildTransaction(fromAccount, toAccount, amount, now, status);
+                inserts.add(ledgerRows[i]);
+            }
+            results.add(new SettlementResult(status, message));
+            outcomes.merge(status == TransactionStatus.SUCCESS ? Outcome.SUCCESS : Outcome.FAILED, 1, Integer::sum);
+        }
+        transferMetrics.recordOutcomesOnCommit(mode, outcomes);
+
+        // Ids are pre-allocated from the pooled sequence; the inserts are flushed as JDBC batches at commit.
+        transactionRepository.saveAll(inserts);
+        for (int i = 0; i < items.size(); i++) {
+            Transaction row = ledgerRows[i];
+            if (row == null) {
+                continue;
+            }
+            if (row.getStatus() == TransactionStatus.SUCCESS && deferredCredits.contains(items.get(i).toNumber())) {
+                hotAccountService.deferCredit(row);
+            }
+            results.set(i, results.get(i).withTransactionId(row.getId()));
+        }
+        recordLedgerRows(
+            Arrays.stream(ledgerRows).filter(Objects::nonNull).toList(),
+            identities(accounts.values())
+        );
+        return results;
+    }
+
+    // pendingRow is the accepted ledger row to finalize, or null when settling inserts a new row.
+    private record SettlementItem(
+        String fromNumber,
+        String toNumber,
+        BigDecimal amount,
+        UUID userId,
+        String rejection,
+        Transaction pendingRow
+    ) {
+    }
+
+    private record SettlementResult(TransactionStatus status, String message, Long transactionId) {
+
+        SettlementResult(TransactionStatus status, String message) {
+            this(status, message, null);
+        }
+
+        SettlementResult withTransactionId(Long id) {
+            return new SettlementResult(status, message, id);
+        }
+    }
+
+    private record Rejection(HttpStatus status, String message) {
+    }
+
+    // A cached identity no longer matches its row. Answered with 409 if it survives the one re-resolution.
+    private static final class StaleIdentityException extends ResponseStatusException {
+
+        StaleIdentityException() {
+            super(HttpStatus.CONFLICT, "Account changed, please retry");
+        }
+    }
+
     @Transactional(readOnly = true)
     public List<TransactionResponse> history(UUID accountId) {
-        User user = currentUserService.getCurrentUser();
-        accountRepository.findByIdAndUserId(accountId, user.getId())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found"));
+        requireOwnedAccount(accountId);
+        try (Stream<TransactionResponse> rows = transactionRepository.streamHistory(accountId)) {
+            return rows.toList();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public HistoryPage historyPage(UUID accountId, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "Limit must be between 1 and " + MAX_PAGE_SIZE
+            );
+        }
+        requireOwnedAccount(accountId);
 
-        return transactionRepository.findHistoryWithAccounts(accountId).stream()
-            .map(this::toResponse)
-            .toList();
+        // Fetch one extra row to learn whether another page exists without a count query.
+        int fetchLimit = pageSize + 1;
+        List<TransactionResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findHistoryPage(accountId, fetchLimit);
+        } else {
+            HistoryCursor position = HistoryCursor.decode(cursor);
+            rows = transactionRepository.findHistoryPageBefore(
+                accountId,
+                position.transactionDate(),
+                position.id(),
+                fetchLimit
+            );
+        }
+
+        if (rows.size() <= pageSize) {
+            return new HistoryPage(rows, null);
+        }
+        List<TransactionResponse> items = rows.subList(0, pageSize);
+        TransactionResponse last = items.get(items.size() - 1);
+        return new HistoryPage(items, new HistoryCursor(last.getTransactionDate(), last.getId()).encode());
+    }
+
+    /**
+     * Checks ownership up front and returns a body that streams the full history as NDJSON.
+     * Rows are read through a forward-only cursor inside a read-only transaction, so memory stays
+     * constant regardless of history length.
+     */
+    public StreamingResponseBody exportHistory(UUID accountId) {
+        requireOwnedAccount(accountId);
+        return outputStream -> readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<TransactionResponse> rows = transactionRepository.streamHistory(accountId)) {
+                OutputStream out = new BufferedOutputStream(outputStream);
+                rows.forEach(row -> writeLine(out, row));
+                out.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
     }
 
-    private Account lockAccount(String number) {
-        return accountRepository.findByNumberForUpdate(number)
+    private void requireOwnedAccount(UUID accountId) {
+        UUID userId = currentUserService.getCurrentUserId();
+        accountRepository.findByIdAndUserId(accountId, userId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found"));
     }
 
+    private void writeLine(OutputStream out, TransactionResponse row) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(row));
+            out.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /*
+     * Checks everything that does not depend on balances, without taking locks: distinct accounts, a positive
+     * amount, and existence and ownership from the account directory. Only transfers that pass reach the
+     * locked section, so malformed or unauthorized requests never hold row locks.
+     */
+    private Rejection preValidate(
+        String fromNumber,
+        String toNumber,
+        BigDecimal amount,
+        UUID userId,
+        Map<String, AccountIdentity> identities
+    ) {
+        if (fromNumber.equals(toNumber)) {
+            return new Rejection(HttpStatus.BAD_REQUEST, "Transfer accounts must be different");
+        }
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            return new Rejection(HttpStatus.BAD_REQUEST, "Amount must be greater than zero");
+        }
+        AccountIdentity from = identities.get(fromNumber);
+        if (from == null || !identities.containsKey(toNumber)) {
+            return new Rejection(HttpStatus.NOT_FOUND, "Account not found");
+        }
+        if (!from.ownerId().equals(userId)) {
+            return new Rejection(HttpStatus.FORBIDDEN, "Cannot transfer from this account");
+        }
+        return null;
+    }
+
+    /*
+     * Runs a transfer in its own transaction. Under the pessimistic strategy (and for batches under the
+     * conditional-update strategy) accounts are row-locked and the work runs once; under the optimistic
+     * strategy a version conflict at flush rolls the attempt back and the whole unit is retried, up to the
+     * configured number of attempts. Every attempt's work and commit are timed as separate stages.
+     */
+    private <T> T executeTransfer(Mode mode, Supplier<T> work) {
+        Supplier<T> timedWork = () -> {
+            transferMetrics.timeCommit(mode);
+            return transferMetrics.timeStage(mode, Stage.EXECUTE, work);
+        };
+        if (transferProperties.getLockingStrategy() != LockingStrategy.OPTIMISTIC) {
+            return transactionTemplate.execute(status -> timedWork.get());
+        }
+
+        int maxAttempts = transferProperties.getOptimisticMaxAttempts();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> timedWork.get());
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "Concurrent update, please retry");
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    // Randomized linear backoff so conflicting retries do not collide again in lockstep.
+    private void backOff(int attempt) {
+        int backoffMs = transferProperties.getOptimisticRetryBackoffMs();
+        if (backoffMs == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong((long) backoffMs * attempt + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Transfer interrupted");
+        }
+    }
+
+    /*
+     * Pessimistic: one round trip locks every account in lockNumbers; rows come back locked in the database's
+     * order for number. Optimistic: the same accounts are read without locks and their versions are checked
+     * when balances are flushed. Accounts in readNumbers are only credited through pending credits and are
+     * never locked.
+     */
+    private Map<String, Account> loadAccounts(Collection<String> lockNumbers, Collection<String> readNumbers) {
+        Set<String> unlocked = new HashSet<>(readNumbers);
+        Map<String, Account> accounts = new HashMap<>();
+        if (transferProperties.getLockingStrategy() == LockingStrategy.OPTIMISTIC) {
+            unlocked.addAll(lockNumbers);
+        } else if (!lockNumbers.isEmpty()) {
+            long requestedAt = System.nanoTime();
+            for (Account account : accountRepository.findAllByNumberForUpdate(lockNumbers)) {
+                accounts.put(account.getNumber(), account);
+            }
+            transferMetrics.recordLockAcquired(lockNumbers.size(), requestedAt);
+        }
+        if (!unlocked.isEmpty()) {
+            for (Account account : accountRepository.findAllByNumberIn(unlocked)) {
+                accounts.put(account.getNumber(), account);
+            }
+        }
+        return accounts;
+    }
+
+    /*
+     * Journal postings and outbox events are written in the ledger rows' own transaction; feed events follow
+     * its commit. accounts holds the identities of the rows' accounts, taken from what the caller already
+     * loaded, so the feed does no lookups while the row locks are held.
+     */
+    private void recordLedgerRows(List<Transaction> rows, Map<UUID, AccountIdentity> accounts) {
+        journalService.postTransfers(rows);
+        outboxService.append(rows);
+        accountFeedService.publishOnCommit(rows, accounts);
+    }
+
+    // The owner's id comes from the association's proxy, which does not load the user.
+    private static Map<UUID, AccountIdentity> identities(Collection<Account> accounts) {
+        Map<UUID, AccountIdentity> identities = new HashMap<>();
+        for (Account account : accounts) {
+            identities.put(
+                account.getId(),
+                new AccountIdentity(account.getId(), account.getNumber(), account.getUser().getId())
+            );
+        }
+        return identities;
+    }
+
+    private Account requireAccount(Map<String, Account> accounts, String number) {
+        Account account = accounts.get(number);
+        if (account == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found");
+        }
+        return account;
+    }
+
     private Transaction buildTransaction(
         Account fromAccount,
         Account toAccount,
@@ -131,20 +875,11 @@ public class TransactionService {
         transaction.setToAccount(toAccount);
         transaction.setAmount(amount);
         transaction.setTransactionDate(now);
+        transaction.setSettledAt(status == TransactionStatus.PENDING ? null : now);
         transaction.setStatus(status);
         return transaction;
     }
 
-    private TransactionResponse toResponse(Transaction transaction) {
-        return new TransactionResponse(
-            transaction.getId(),
-            transaction.getFromAccount().getId(),
-            transaction.getFromAccount().getNumber(),
-            transaction.getToAccount().getId(),
-            transaction.getToAccount().getNumber(),
-            transaction.getAmount(),
-            transaction.getTransactionDate(),
-            transaction.getStatus()
-        );
+    public record HistoryPage(List<TransactionResponse> items, String nextCursor) {
     }
 }
@@ -0,0 +1,161 @@
+package com.main.mini_bank.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Meters for the transfer path. Stage and lock timers publish percentile histograms so latency quantiles can
+ * be aggregated across instances by the scraper. Lock timers are tagged with how many account rows were
+ * locked rather than with account numbers, which would give every account its own time series.
+ */
+@Component
+public class TransferMetrics {
+
+    public enum Mode { SINGLE, BATCH, ASYNC }
+
+    public enum Stage { PREVALIDATE, EXECUTE, COMMIT }
+
+    public enum Outcome { SUCCESS, FAILED, REJECTED, CONFLICT, ERROR }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Mode, Map<Stage, Timer>> stageTimers = new EnumMap<>(Mode.class);
+    private final Map<Mode, Map<Outcome, Counter>> outcomeCounters = new EnumMap<>(Mode.class);
+    private final Map<String, Timer> lockWaitTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> lockHoldTimers = new ConcurrentHashMap<>();
+
+    public TransferMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Mode mode : Mode.values()) {
+            Map<Stage, Timer> stages = new EnumMap<>(Stage.class);
+            for (Stage stage : Stage.values()) {
+                stages.put(stage, Timer.builder("bank.transfer.stage")
+                    .description("Time spent in each stage of a transfer")
+                    .tag("mode", tagValue(mode))
+                    .tag("stage", tagValue(stage))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            }
+            stageTimers.put(mode, stages);
+
+            Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                outcomes.put(outcome, Counter.builder("bank.transfers")
+                    .description("Transfers by outcome; batches count every item")
+                    .tag("mode", tagValue(mode))
+                    .tag("outcome", tagValue(outcome))
+                    .register(meterRegistry));
+            }
+            outcomeCounters.put(mode, outcomes);
+        }
+    }
+
+    public void recordStage(Mode mode, Stage stage, long startedNanos) {
+        stageTimers.get(mode).get(stage).record(Duration.ofNanos(System.nanoTime() - startedNanos));
+    }
+
+    public <T> T timeStage(Mode mode, Stage stage, Supplier<T> work) {
+        return stageTimers.get(mode).get(stage).record(work);
+    }
+
+    /*
+     * Times flush and commit of the current transaction: balance updates and ledger inserts are written at
+     * flush, so this stage is where their statements run.
+     */
+    public void timeCommit(Mode mode) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStartedAt;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStartedAt = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED && commitStartedAt != 0) {
+                    recordStage(mode, Stage.COMMIT, commitStartedAt);
+                }
+            }
+        });
+    }
+
+    /*
+     * Records how long the locking statement waited for its rows, then how long they stay locked: row locks
+     * are released at commit or rollback.
+     */
+    public void recordLockAcquired(int lockedAccounts, long requestedNanos) {
+        String accounts = lockedAccounts <= 2 ? Integer.toString(lockedAccounts) : "3+";
+        long lockedAt = System.nanoTime();
+        lockTimer(lockWaitTimers, "bank.account.lock.wait", "Time spent waiting for account row locks", accounts)
+            .record(Duration.ofNanos(lockedAt - requestedNanos));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Timer hold = lockTimer(lockHoldTimers, "bank.account.lock.hold", "Time account row locks are held", accounts);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                hold.record(Duration.ofNanos(System.nanoTime() - lockedAt));
+            }
+        });
+    }
+
+    public void recordOutcome(Mode mode, Outcome outcome) {
+        outcomeCounters.get(mode).get(outcome).increment();
+    }
+
+    // Counted only if the current transaction commits, so rolled-back attempts that are retried count once.
+    public void recordOutcomesOnCommit(Mode mode, Map<Outcome, Integer> outcomes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outcomes.forEach((outcome, count) -> outcomeCounters.get(mode).get(outcome).increment(count));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outcomes.forEach((outcome, count) -> outcomeCounters.get(mode).get(outcome).increment(count));
+            }
+        });
+    }
+
+    public void recordError(Mode mode, RuntimeException ex, int transfers) {
+        Outcome outcome = Outcome.ERROR;
+        if (ex instanceof ResponseStatusException status) {
+            if (status.getStatusCode() == HttpStatus.CONFLICT) {
+                outcome = Outcome.CONFLICT;
+            } else if (status.getStatusCode().is4xxClientError()) {
+                outcome = Outcome.REJECTED;
+            }
+        }
+        outcomeCounters.get(mode).get(outcome).increment(transfers);
+    }
+
+    private Timer lockTimer(Map<String, Timer> timers, String name, String description, String accounts) {
+        return timers.computeIfAbsent(accounts, key -> Timer.builder(name)
+            .description(description)
+            .tag("accounts", key)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
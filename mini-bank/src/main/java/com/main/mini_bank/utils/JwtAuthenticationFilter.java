@@ -1,20 +1,31 @@
 package com.main.mini_bank.utils;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 
 import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import com.main.mini_bank.config.JwtProperties;
 import com.main.mini_bank.service.JwtService;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -24,10 +35,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final Cache<String, CachedAuthentication> authenticationCache;
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer invalidTimer;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(
+        JwtService jwtService,
+        UserDetailsService userDetailsService,
+        JwtProperties jwtProperties,
+        MeterRegistry meterRegistry
+    ) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.authenticationCache = Caffeine.newBuilder()
+            .maximumSize(jwtProperties.getAuthCacheMaxSize())
+            .expireAfter(new TokenExpiry(Duration.ofSeconds(jwtProperties.getAuthCacheTtlSeconds())))
+            .build();
+        this.cachedTimer = validationTimer(meterRegistry, "cached");
+        this.verifiedTimer = validationTimer(meterRegistry, "verified");
+        this.invalidTimer = validationTimer(meterRegistry, "invalid");
     }
 
     @Override
@@ -42,18 +69,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String token = authHeader.substring(7);
-        String username;
-        try {
-            username = jwtService.extractUsername(token);
-        } catch (JwtException | IllegalArgumentException ex) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(token, userDetails)) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolveUser(authHeader.substring(7));
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     userDetails,
                     null,
@@ -66,4 +84,81 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolveUser(String token) {
+        // A token seen before costs a hash lookup; only unseen tokens pay for HMAC verification and the user query.
+        long startedAt = System.nanoTime();
+        CachedAuthentication cached = authenticationCache.getIfPresent(token);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            cachedTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+            return cached.userDetails();
+        }
+
+        JwtService.VerifiedToken verified;
+        UserDetails userDetails;
+        try {
+            verified = jwtService.verifyToken(token);
+            userDetails = userDetailsService.loadUserByUsername(verified.username());
+        } catch (JwtException | IllegalArgumentException | UsernameNotFoundException ex) {
+            invalidTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+            return null;
+        }
+        verifiedTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+
+        if (userDetails instanceof CredentialsContainer credentials) {
+            credentials.eraseCredentials();
+        }
+        authenticationCache.put(token, new CachedAuthentication(userDetails, verified.expiresAt()));
+        return userDetails;
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("bank.auth.jwt.validation")
+            .description("Time to resolve a bearer token to a user, by cache hit, full verification or rejection")
+            .tag("result", result)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private record CachedAuthentication(UserDetails userDetails, Instant expiresAt) {
+    }
+
+    // Entries never outlive the token they were verified from, nor the configured cache TTL.
+    private static final class TokenExpiry implements Expiry<String, CachedAuthentication> {
+
+        private final Duration maxTtl;
+
+        private TokenExpiry(Duration maxTtl) {
+            this.maxTtl = maxTtl;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+            Duration untilExpiry = Duration.between(Instant.now(), value.expiresAt());
+            if (untilExpiry.isNegative()) {
+                return 0;
+            }
+            return (untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(
+            String key,
+            CachedAuthentication value,
+            long currentTime,
+            long currentDuration
+        ) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(
+            String key,
+            CachedAuthentication value,
+            long currentTime,
+            long currentDuration
+        ) {
+            return currentDuration;
+        }
+    }
 }
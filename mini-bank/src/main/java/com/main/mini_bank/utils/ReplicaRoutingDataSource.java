@@ -0,0 +1,122 @@
+package com.main.mini_bank.utils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Target for read-only connections: spreads them round-robin over the replicas that passed their last health
+ * check, and falls back to the primary when none did. A replica is healthy when it answers the lag query with
+ * a lag of at most {@code maxLagSeconds}; until its first check it is not used.
+ *
+ * <p>Wire it up with {@link #routing(DataSource, ReplicaRoutingDataSource)}: the returned proxy fetches a
+ * physical connection only at the first statement, after a read-only transaction has marked its connection
+ * read-only, and takes it from this data source in that case and from the primary otherwise.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final int maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<Replica> healthy = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, int maxLagSeconds, String lagQuery) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+    }
+
+    public static DataSource routing(DataSource primary, ReplicaRoutingDataSource readOnly) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(readOnly);
+        return proxy;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return select().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return select().getConnection(username, password);
+    }
+
+    public List<String> healthyReplicas() {
+        return healthy.stream().map(Replica::name).toList();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        List<Replica> current = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            boolean wasHealthy = healthy.contains(replica);
+            String problem = probe(replica);
+            if (problem == null) {
+                current.add(replica);
+                if (!wasHealthy) {
+                    logger.info("Replica {} is serving reads", replica.name());
+                }
+            } else if (wasHealthy) {
+                logger.warn("Replica {} taken out of rotation: {}", replica.name(), problem);
+            }
+        }
+        healthy = List.copyOf(current);
+    }
+
+    // Closes the replica pools; the primary belongs to the caller.
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private DataSource select() {
+        List<Replica> candidates = healthy;
+        if (candidates.isEmpty()) {
+            return primary;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size())).dataSource();
+    }
+
+    // Null when the replica is usable, otherwise why not.
+    private String probe(Replica replica) {
+        try (
+            Connection connection = replica.dataSource().getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet result = statement.executeQuery(lagQuery)
+        ) {
+            if (!result.next()) {
+                return "lag query returned no row";
+            }
+            double lagSeconds = result.getDouble(1);
+            return lagSeconds <= maxLagSeconds ? null : "lag of " + lagSeconds + "s exceeds " + maxLagSeconds + "s";
+        } catch (SQLException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    public record Replica(String name, DataSource dataSource) {
+    }
+}
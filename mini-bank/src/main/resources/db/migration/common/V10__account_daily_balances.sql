@@ -0,0 +1,20 @@
+-- End-of-day balance and debit/credit totals per account, written only for days with activity.
+-- balance_snapshot_watermark holds the last day that has been closed; later days are read from the ledger.
+create table if not exists account_daily_balances (
+    account_id uuid not null,
+    balance_date date not null,
+    debits numeric(19, 2) not null,
+    credits numeric(19, 2) not null,
+    closing_balance numeric(19, 2) not null,
+    constraint account_daily_balances_pkey primary key (account_id, balance_date),
+    constraint fk_account_daily_balances_account foreign key (account_id) references accounts (id) on delete cascade
+);
+
+create table if not exists balance_snapshot_watermark (
+    id smallint not null,
+    closed_through date not null,
+    constraint balance_snapshot_watermark_pkey primary key (id)
+);
+
+-- Closing a day aggregates every account's ledger rows for that day.
+create index if not exists idx_transactions_date on transactions (transaction_date);
@@ -0,0 +1,37 @@
+-- Append-only double-entry journal: every change to a balance is a posting. A successful transfer posts a
+-- debit leg (negative amount) on its source and a credit leg on its destination in the same transaction;
+-- an opening balance posts a single leg without a transaction. accounts.balance is a projection of these
+-- postings, less credits still pending on hot accounts.
+-- transaction_id has no foreign key: on PostgreSQL transactions is partitioned and keyed by (id, transaction_date).
+create sequence if not exists journal_entries_seq start with 1 increment by 50;
+
+create table if not exists journal_entries (
+    id bigint not null,
+    account_id uuid not null,
+    transaction_id bigint,
+    amount numeric(19, 2) not null,
+    posted_at timestamp(6) not null,
+    constraint journal_entries_pkey primary key (id),
+    constraint fk_journal_entries_account foreign key (account_id) references accounts (id)
+);
+
+create index if not exists idx_journal_entries_account_posted on journal_entries (account_id, posted_at);
+create index if not exists idx_journal_entries_posted on journal_entries (posted_at);
+
+-- Journal sum per account for every posting before posted_before; balances are rebuilt from here.
+create table if not exists account_balance_checkpoints (
+    account_id uuid not null,
+    balance numeric(19, 2) not null,
+    posted_before timestamp(6) not null,
+    constraint account_balance_checkpoints_pkey primary key (account_id),
+    constraint fk_account_balance_checkpoints_account foreign key (account_id) references accounts (id) on delete cascade
+);
+
+-- Existing accounts open the journal with what they hold today, including unfolded hot-account credits.
+insert into journal_entries (id, account_id, transaction_id, amount, posted_at)
+select nextval('journal_entries_seq'), a.id, null, a.balance + coalesce(p.pending, 0), current_timestamp
+from accounts a
+left join (
+    select account_id, sum(amount) as pending from pending_credits group by account_id
+) p on p.account_id = a.id
+where a.balance + coalesce(p.pending, 0) <> 0;
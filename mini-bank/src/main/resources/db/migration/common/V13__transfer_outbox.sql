@@ -0,0 +1,11 @@
+-- Transactional outbox: one compact event per finished transfer, written in the transfer's transaction and
+-- deleted once the relay has handed it to the event log. Rows only live until the next relay run.
+create sequence if not exists outbox_events_seq start with 1 increment by 50;
+
+create table if not exists outbox_events (
+    id bigint not null,
+    transaction_id bigint not null,
+    payload varchar(1000) not null,
+    created_at timestamp(6) not null,
+    constraint outbox_events_pkey primary key (id)
+);
@@ -0,0 +1,7 @@
+-- Single row: every journal entry posted before posted_before is covered by its account's checkpoint, so a
+-- checkpoint run only scans the entries posted since (idx_journal_entries_posted).
+create table if not exists journal_checkpoint_watermark (
+    id smallint not null,
+    posted_before timestamp(6) not null,
+    constraint journal_checkpoint_watermark_pkey primary key (id)
+);
@@ -0,0 +1,5 @@
+-- When a transfer took effect, kept apart from transaction_date (when it was submitted) so that settling an
+-- accepted transfer does not move its row between days, history pages or monthly partitions. Null while
+-- the row is PENDING. Rows written before this migration are not backfilled, to avoid rewriting the ledger;
+-- they were settled on their transaction_date.
+alter table transactions add column if not exists settled_at timestamp(6);
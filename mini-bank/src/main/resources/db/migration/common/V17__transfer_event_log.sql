@@ -0,0 +1,25 @@
+-- Event log of the database outbox sink: the relay moves outbox rows here in its own transaction. Offsets are
+-- handed out from the single head row while it is locked, so they are gap-free and become visible in order;
+-- a consumer that has read up to an offset never sees an earlier one appear later.
+create table if not exists transfer_event_log (
+    log_offset bigint not null,
+    payload varchar(1000) not null,
+    appended_at timestamp(6) not null,
+    constraint transfer_event_log_pkey primary key (log_offset)
+);
+
+create table if not exists transfer_event_log_head (
+    id smallint not null,
+    next_offset bigint not null,
+    constraint transfer_event_log_head_pkey primary key (id)
+);
+
+insert into transfer_event_log_head (id, next_offset) values (1, 0);
+
+-- Next offset each named consumer will read.
+create table if not exists transfer_event_consumers (
+    consumer varchar(100) not null,
+    committed_offset bigint not null,
+    updated_at timestamp(6) not null,
+    constraint transfer_event_consumers_pkey primary key (consumer)
+);
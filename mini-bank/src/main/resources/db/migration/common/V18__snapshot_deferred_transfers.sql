@@ -0,0 +1,8 @@
+-- Transfers still PENDING when their day was closed, so that day's balances were written without them. Each
+-- row is removed once its transfer has settled, after a SUCCESS has been added to that day's and every later
+-- day's balances of both accounts.
+create table if not exists snapshot_deferred_transfers (
+    transaction_id bigint not null,
+    balance_date date not null,
+    constraint snapshot_deferred_transfers_pkey primary key (transaction_id)
+);
@@ -0,0 +1,7 @@
+-- Who submitted an asynchronous transfer, so settling it after a restart re-checks ownership against them
+-- rather than against whoever owns the source account by then. Null for synchronous transfers. Rows still
+-- PENDING are backfilled with their source account's owner, the only record there is of who submitted them.
+alter table transactions add column if not exists submitted_by uuid;
+
+update transactions set submitted_by = (select a.user_id from accounts a where a.id = transactions.from_account_id)
+where status = 'PENDING' and submitted_by is null;
@@ -0,0 +1,48 @@
+-- Baseline schema. Written with "if not exists" so databases previously managed by
+-- Hibernate ddl-auto are adopted in place and only pick up what they are missing.
+
+create table if not exists users (
+    id uuid not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    username varchar(100) not null,
+    password varchar(255) not null,
+    email varchar(255) not null,
+    constraint users_pkey primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create table if not exists accounts (
+    id uuid not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    number varchar(50) not null,
+    name varchar(100) not null,
+    balance numeric(19, 2) not null,
+    user_id uuid not null,
+    constraint accounts_pkey primary key (id),
+    constraint uk_accounts_number unique (number),
+    constraint uk_accounts_name unique (name),
+    constraint fk_accounts_user foreign key (user_id) references users (id)
+);
+
+create index if not exists idx_accounts_user_id on accounts (user_id);
+
+create table if not exists transactions (
+    id bigint generated by default as identity,
+    from_account_id uuid not null,
+    to_account_id uuid not null,
+    amount numeric(19, 2) not null,
+    transaction_date timestamp(6) not null,
+    status varchar(20) not null,
+    constraint transactions_pkey primary key (id),
+    constraint fk_transactions_from_account foreign key (from_account_id) references accounts (id),
+    constraint fk_transactions_to_account foreign key (to_account_id) references accounts (id)
+);
+
+create index if not exists idx_transactions_from_account_date
+    on transactions (from_account_id, transaction_date, id);
+
+create index if not exists idx_transactions_to_account_date
+    on transactions (to_account_id, transaction_date, id);
@@ -0,0 +1,3 @@
+-- Ledger ids come from a pooled sequence so Hibernate can batch inserts; the increment
+-- must match the allocationSize declared on Transaction.id.
+create sequence if not exists transactions_seq start with 1 increment by 50;
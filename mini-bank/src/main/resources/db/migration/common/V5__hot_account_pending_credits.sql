@@ -0,0 +1,14 @@
+-- Hot accounts take credits as append-only pending rows that are folded into the balance
+-- periodically, so concurrent transfers into them do not queue on the account row lock.
+alter table accounts add column if not exists hot boolean default false not null;
+
+create table if not exists pending_credits (
+    transaction_id bigint not null,
+    account_id uuid not null,
+    amount numeric(19, 2) not null,
+    created_at timestamp(6) not null,
+    constraint pending_credits_pkey primary key (transaction_id),
+    constraint fk_pending_credits_account foreign key (account_id) references accounts (id)
+);
+
+create index if not exists idx_pending_credits_account on pending_credits (account_id);
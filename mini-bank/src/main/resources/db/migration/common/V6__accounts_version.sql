@@ -0,0 +1,2 @@
+-- Version column for optimistic concurrency control on account balances.
+alter table accounts add column if not exists version bigint default 0 not null;
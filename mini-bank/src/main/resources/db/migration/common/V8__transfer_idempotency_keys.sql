@@ -0,0 +1,13 @@
+-- Responses of transfers submitted with an Idempotency-Key header. The primary key makes a concurrent
+-- duplicate fail at insert, which rolls back its transfer; created_at drives the retention purge.
+create table if not exists idempotency_keys (
+    user_id uuid not null,
+    idempotency_key varchar(255) not null,
+    request_hash varchar(64) not null,
+    response text not null,
+    created_at timestamp(6) not null,
+    constraint idempotency_keys_pkey primary key (user_id, idempotency_key),
+    constraint fk_idempotency_keys_user foreign key (user_id) references users (id) on delete cascade
+);
+
+create index if not exists idx_idempotency_keys_created_at on idempotency_keys (created_at);
@@ -0,0 +1,50 @@
+-- Range-partitions the ledger by month of transaction_date. Existing rows move into a single partition
+-- covering everything before the current month; monthly partitions from the current month on are
+-- created here and then kept ahead by LedgerPartitionService. The primary key of a partitioned table
+-- must include the partition key, so it becomes (id, transaction_date); ids stay unique because every
+-- insert takes them from transactions_seq. No foreign keys point at transactions.
+create table transactions_partitioned (
+    id bigint not null,
+    from_account_id uuid not null,
+    to_account_id uuid not null,
+    amount numeric(19, 2) not null,
+    transaction_date timestamp(6) not null,
+    status varchar(20) not null
+) partition by range (transaction_date);
+
+do $$
+declare
+    current_month date := date_trunc('month', now())::date;
+    partition_start date;
+begin
+    execute format(
+        'create table %I partition of transactions_partitioned for values from (minvalue) to (%L)',
+        'transactions_before_' || to_char(current_month, '"y"YYYY"m"MM'),
+        current_month
+    );
+    for i in 0..3 loop
+        partition_start := (current_month + make_interval(months => i))::date;
+        execute format(
+            'create table %I partition of transactions_partitioned for values from (%L) to (%L)',
+            'transactions_' || to_char(partition_start, '"y"YYYY"m"MM'),
+            partition_start,
+            (partition_start + interval '1 month')::date
+        );
+    end loop;
+end $$;
+
+insert into transactions_partitioned (id, from_account_id, to_account_id, amount, transaction_date, status)
+select id, from_account_id, to_account_id, amount, transaction_date, status from transactions;
+
+drop table transactions;
+alter table transactions_partitioned rename to transactions;
+
+alter table transactions add constraint transactions_pkey primary key (id, transaction_date);
+alter table transactions
+    add constraint fk_transactions_from_account foreign key (from_account_id) references accounts (id);
+alter table transactions
+    add constraint fk_transactions_to_account foreign key (to_account_id) references accounts (id);
+
+create index idx_transactions_from_account_date on transactions (from_account_id, transaction_date, id);
+create index idx_transactions_to_account_date on transactions (to_account_id, transaction_date, id);
+create index idx_transactions_date on transactions (transaction_date);
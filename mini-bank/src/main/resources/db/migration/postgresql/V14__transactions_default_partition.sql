@@ -0,0 +1,4 @@
+-- Catches ledger rows dated past the last monthly partition, so transfers keep working if partition
+-- maintenance is disabled or falls behind. LedgerPartitionService moves such rows into their monthly
+-- partition when it creates it.
+create table if not exists transactions_default partition of transactions default;
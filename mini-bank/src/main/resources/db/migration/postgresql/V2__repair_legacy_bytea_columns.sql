@@ -0,0 +1,23 @@
+-- Repairs legacy schemas where account identifiers were stored as bytea.
+-- Runs once per database instead of inspecting information_schema on every boot.
+do $$
+declare
+    col record;
+begin
+    for col in
+        select table_schema, column_name
+        from information_schema.columns
+        where table_name = 'accounts'
+          and column_name in ('number', 'name')
+          and data_type = 'bytea'
+    loop
+        execute format(
+            'alter table %I.accounts alter column %I type %s using convert_from(%I, ''UTF8'')',
+            col.table_schema,
+            col.column_name,
+            case col.column_name when 'number' then 'varchar(50)' else 'varchar(100)' end,
+            col.column_name
+        );
+    end loop;
+end
+$$;
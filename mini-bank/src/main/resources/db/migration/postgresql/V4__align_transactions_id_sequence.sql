@@ -0,0 +1,2 @@
+-- Existing ledgers were numbered by the identity column; start the pooled sequence past them.
+select setval('transactions_seq', (select coalesce(max(id), 0) from transactions) + 50);
@@ -0,0 +1,6 @@
+-- Case-insensitive substring search on account number and name (AccountSpecifications).
+-- Trigram GIN indexes on lower(column) serve both '%term%' and 'term%' patterns.
+create extension if not exists pg_trgm;
+
+create index if not exists idx_accounts_number_lower_trgm on accounts using gin (lower(number) gin_trgm_ops);
+create index if not exists idx_accounts_name_lower_trgm on accounts using gin (lower(name) gin_trgm_ops);
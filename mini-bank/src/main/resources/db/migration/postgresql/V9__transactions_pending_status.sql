@@ -0,0 +1,4 @@
+-- Accepted asynchronous transfers are recorded with status PENDING. Databases created by Hibernate
+-- ddl-auto carry a check constraint listing the old enum values; the column is validated by the
+-- application, so the constraint is dropped rather than rewritten for every new status.
+alter table transactions drop constraint if exists transactions_status_check;
@@ -1,32 +1,64 @@
 package com.main.mini_bank;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.sql.Connection;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import com.main.mini_bank.config.PasswordProperties;
 
 import com.main.mini_bank.repository.AccountRepository;
+import com.main.mini_bank.repository.JournalEntryRepository;
+import com.main.mini_bank.repository.OutboxEventRepository;
+import com.main.mini_bank.repository.PendingCreditRepository;
+import com.main.mini_bank.service.AccountDirectory;
 import com.main.mini_bank.service.CustomUserDetailsService;
 import com.main.mini_bank.service.JwtService;
+import com.main.mini_bank.service.PasswordHashingExecutor;
 import com.main.mini_bank.repository.TransactionRepository;
 import com.main.mini_bank.model.entity.User;
 import com.main.mini_bank.repository.UserRepository;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.server.ResponseStatusException;
 
 @SpringBootTest
+@Import(JdbcStatementRecorder.class)
 @ActiveProfiles("test")
 class ApiErrorHandlingTests {
 
@@ -35,6 +67,9 @@ class ApiErrorHandlingTests {
 
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -44,6 +79,18 @@ class ApiErrorHandlingTests {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private PendingCreditRepository pendingCreditRepository;
+
+    @Autowired
+    private AccountDirectory accountDirectory;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -53,14 +100,21 @@ class ApiErrorHandlingTests {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private DataSource dataSource;
+
     @BeforeEach
     void cleanDb() {
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
             .apply(SecurityMockMvcConfigurers.springSecurity())
             .build();
+        pendingCreditRepository.deleteAll();
         transactionRepository.deleteAll();
+        journalEntryRepository.deleteAll();
+        outboxEventRepository.deleteAll();
         accountRepository.deleteAll();
         userRepository.deleteAll();
+        accountDirectory.evictAll();
     }
 
     @Test
@@ -94,6 +148,118 @@ class ApiErrorHandlingTests {
             .andExpect(jsonPath("$.message").value("Account not found"));
     }
 
+    @Test
+    void tamperedTokenIsRejectedEvenAfterValidTokenWasCached() throws Exception {
+        String token = createUserAndToken("user2", "user2@example.com");
+
+        mockMvc.perform(get("/api/accounts")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        String tampered = token.substring(0, token.length() - 2)
+            + (token.endsWith("AA") ? "BB" : "AA");
+
+        mockMvc.perform(get("/api/accounts")
+                .header("Authorization", "Bearer " + tampered))
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath("$.status").value(401));
+    }
+
+    @Test
+    void loginRehashesWeakPasswordAndReturnsTheTokensOwnExpiry() throws Exception {
+        User user = new User();
+        user.setUsername("user3");
+        user.setEmail("user3@example.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("Password123"));
+        userRepository.save(user);
+
+        MvcResult started = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"user3\",\"password\":\"Password123\"}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        JsonNode body = objectMapper.readTree(mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString());
+
+        JwtService.VerifiedToken token = jwtService.verifyToken(body.get("token").asText());
+        assertThat(Instant.parse(body.get("expiresAt").asText())).isEqualTo(token.expiresAt());
+        String rehashed = userRepository.findByUsername("user3").orElseThrow().getPassword();
+        assertThat(rehashed).startsWith("$2a$10$");
+        assertThat(passwordEncoder.matches("Password123", rehashed)).isTrue();
+
+        MvcResult rejected = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"user3\",\"password\":\"Wrong12345\"}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(rejected))
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath("$.status").value(401));
+    }
+
+    @Test
+    void passwordHashingRefusesWorkBeyondItsQueueWith503() throws Exception {
+        PasswordProperties properties = new PasswordProperties();
+        properties.setHashingThreads(1);
+        properties.setHashingQueueCapacity(1);
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(properties, new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+
+        // The first task starts the only thread; the second fills the queue.
+        executor.submit(() -> awaitRelease(release));
+        CompletableFuture<Boolean> queued = executor.submit(() -> awaitRelease(release));
+        assertThatThrownBy(() -> executor.submit(() -> true))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        release.countDown();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void exhaustedConnectionPoolReturns503() throws Exception {
+        String token = createUserAndToken("user4", "user4@example.com");
+
+        // Caches the verified token, so the next request reaches the service without touching the database.
+        mockMvc.perform(get("/api/accounts")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        List<Connection> borrowed = new ArrayList<>();
+        try {
+            for (int i = 0; i < pool.getMaximumPoolSize(); i++) {
+                borrowed.add(pool.getConnection());
+            }
+
+            mockMvc.perform(get("/api/accounts")
+                    .header("Authorization", "Bearer " + token))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.message").value("Service temporarily unavailable"));
+        } finally {
+            for (Connection connection : borrowed) {
+                connection.close();
+            }
+        }
+
+        mockMvc.perform(get("/api/accounts")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+    }
+
+    private static boolean awaitRelease(CountDownLatch release) {
+        try {
+            return release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     private String createUserAndToken(String username, String email) {
         User user = new User();
         user.setUsername(username);
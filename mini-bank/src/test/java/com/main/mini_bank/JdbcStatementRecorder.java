@@ -0,0 +1,80 @@
+package com.main.mini_bank;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Wraps the application's DataSource so a test can see the statements a request sends and how they were
+ * batched. Only executions on the thread that called {@link #start()} are kept, so scheduled jobs running
+ * meanwhile do not show up.
+ */
+public class JdbcStatementRecorder implements BeanPostProcessor {
+
+    private final List<Execution> executions = new CopyOnWriteArrayList<>();
+    private volatile Thread recordedThread;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+            .name(beanName)
+            .listener(new QueryExecutionListener() {
+                @Override
+                public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                }
+
+                @Override
+                public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                    if (Thread.currentThread() == recordedThread) {
+                        executions.add(new Execution(
+                            queryInfoList.get(0).getQuery(),
+                            execInfo.isBatch() ? execInfo.getBatchSize() : 0
+                        ));
+                    }
+                }
+            })
+            .build();
+    }
+
+    public void start() {
+        executions.clear();
+        recordedThread = Thread.currentThread();
+    }
+
+    public List<Execution> stop() {
+        recordedThread = null;
+        return List.copyOf(executions);
+    }
+
+    // A batch execution carries the number of parameter sets sent with it; a single statement carries zero.
+    public record Execution(String sql, int batchSize) {
+
+        public boolean isSequenceCall() {
+            return sql.contains("next value for");
+        }
+
+        // The verb and the table it targets, such as "insert journal_entries".
+        public String summary() {
+            List<String> words = List.of(sql.trim().toLowerCase(Locale.ROOT).split("\\s+"));
+            String verb = words.get(0);
+            String table = switch (verb) {
+                case "insert" -> words.get(2);
+                case "update" -> words.get(1);
+                default -> words.get(words.indexOf("from") + 1);
+            };
+            return verb + " " + table;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.main.mini_bank;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import com.main.mini_bank.config.LedgerPartitionProperties;
+import com.main.mini_bank.service.LedgerPartitionService;
+
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+// Partitioning only exists on PostgreSQL, so these run against a container and are skipped without Docker.
+@Testcontainers(disabledWithoutDocker = true)
+class LedgerPartitionTests {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    private JdbcTemplate jdbcTemplate;
+    private LedgerPartitionProperties properties;
+    private LedgerPartitionService partitionService;
+    private UUID fromAccountId;
+    private UUID toAccountId;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+            POSTGRES.getJdbcUrl(),
+            POSTGRES.getUsername(),
+            POSTGRES.getPassword()
+        );
+        Flyway flyway = Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+            .cleanDisabled(false)
+            .load();
+        flyway.clean();
+        flyway.migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        properties = new LedgerPartitionProperties();
+        partitionService = new LedgerPartitionService(dataSource, properties);
+
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update(
+            "insert into users (id, created_at, updated_at, username, password, email) "
+                + "values (?, now(), now(), ?, ?, ?)",
+            userId, "owner", "hash", "owner@example.com"
+        );
+        fromAccountId = createAccount(userId, "ACC-100");
+        toAccountId = createAccount(userId, "ACC-200");
+    }
+
+    @Test
+    void maintainCreatesMonthsAheadAndMovesRowsOutOfTheDefaultPartition() {
+        YearMonth current = YearMonth.now();
+        properties.setMonthsAhead(6);
+        partitionService.prepare();
+
+        for (int i = 0; i <= 6; i++) {
+            assertThat(partitionExists(current.plusMonths(i))).isTrue();
+        }
+        assertThat(partitionService.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(partitionService.health().getDetails())
+            .containsEntry("coveredThrough", current.plusMonths(6).toString());
+
+        // Past the last partition: the row is kept by the default partition rather than rejected.
+        YearMonth later = current.plusMonths(9);
+        long id = insertTransaction(later.atDay(15).atStartOfDay());
+        assertThat(partitionOf(id)).isEqualTo("transactions_default");
+
+        properties.setMonthsAhead(9);
+        partitionService.maintain();
+
+        assertThat(partitionOf(id)).isEqualTo(monthlyName(later));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from transactions_default", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from transactions where id = ?", Integer.class, id))
+            .isEqualTo(1);
+        // The attached partition carries the parent's primary key.
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from pg_indexes where tablename = ? and indexdef like 'CREATE UNIQUE INDEX%'",
+            Integer.class,
+            monthlyName(later)
+        )).isEqualTo(1);
+        assertThat(partitionService.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void insertsPastPreCreatedMonthsSucceedWhenMaintenanceIsDisabled() {
+        properties.setEnabled(false);
+        partitionService.prepare();
+        partitionService.maintain();
+
+        // V11 creates partitions through three months ahead; everything later lands in the default partition.
+        long nextYear = insertTransaction(LocalDateTime.now().plusYears(1));
+        long farFuture = insertTransaction(LocalDateTime.now().plusYears(5));
+
+        assertThat(partitionOf(nextYear)).isEqualTo("transactions_default");
+        assertThat(partitionOf(farFuture)).isEqualTo("transactions_default");
+        assertThat(partitionService.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void maintainReportsOldPartitionsForArchivingWithoutMovingThem() {
+        YearMonth old = YearMonth.now().minusMonths(14);
+        jdbcTemplate.execute("alter table transactions detach partition " + legacyPartition());
+        jdbcTemplate.execute("create table " + monthlyName(old) + " partition of transactions for values from ('"
+            + old.atDay(1) + "') to ('" + old.plusMonths(1).atDay(1) + "')");
+        properties.setArchiveTablespace("ledger_archive");
+
+        partitionService.maintain();
+
+        assertThat(partitionService.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(partitionService.health().getDetails().get("awaitingArchive"))
+            .asInstanceOf(InstanceOfAssertFactories.LIST)
+            .containsExactly(monthlyName(old));
+        assertThat(jdbcTemplate.queryForObject(
+            "select reltablespace from pg_class where relname = ?",
+            Long.class,
+            monthlyName(old)
+        )).isZero();
+    }
+
+    private UUID createAccount(UUID userId, String number) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update(
+            "insert into accounts (id, created_at, updated_at, number, name, balance, user_id) "
+                + "values (?, now(), now(), ?, ?, 100.00, ?)",
+            id, number, number, userId
+        );
+        return id;
+    }
+
+    private long insertTransaction(LocalDateTime date) {
+        long id = jdbcTemplate.queryForObject("select nextval('transactions_seq')", Long.class);
+        jdbcTemplate.update(
+            "insert into transactions (id, from_account_id, to_account_id, amount, transaction_date, status) "
+                + "values (?, ?, ?, 1.00, ?, 'SUCCESS')",
+            id, fromAccountId, toAccountId, date
+        );
+        return id;
+    }
+
+    private String partitionOf(long id) {
+        return jdbcTemplate.queryForObject(
+            "select tableoid::regclass::text from transactions where id = ?",
+            String.class,
+            id
+        );
+    }
+
+    private boolean partitionExists(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "select exists (select 1 from pg_inherits i join pg_class c on c.oid = i.inhrelid where c.relname = ?)",
+            Boolean.class,
+            monthlyName(month)
+        ));
+    }
+
+    private String legacyPartition() {
+        return jdbcTemplate.queryForObject(
+            "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid "
+                + "where c.relname like 'transactions_before_%'",
+            String.class
+        );
+    }
+
+    private static String monthlyName(YearMonth month) {
+        return String.format("transactions_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
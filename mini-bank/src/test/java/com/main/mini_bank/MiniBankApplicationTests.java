@@ -2,9 +2,11 @@ package com.main.mini_bank;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@Import(JdbcStatementRecorder.class)
 @ActiveProfiles("test")
 class MiniBankApplicationTests {
 
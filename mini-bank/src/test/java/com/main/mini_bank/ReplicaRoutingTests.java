@@ -0,0 +1,86 @@
+package com.main.mini_bank;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import com.main.mini_bank.utils.ReplicaRoutingDataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Two H2 databases stand in for a primary and its replica; each knows which one it is.
+class ReplicaRoutingTests {
+
+    private JdbcTemplate replicaAdmin;
+    private ReplicaRoutingDataSource readOnlyDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("routing_primary", "primary");
+        DataSource replica = database("routing_replica", "replica");
+        replicaAdmin = new JdbcTemplate(replica);
+
+        readOnlyDataSource = new ReplicaRoutingDataSource(
+            primary,
+            List.of(new ReplicaRoutingDataSource.Replica("replica-1", replica)),
+            5,
+            "select lag_seconds from node"
+        );
+        DataSource routing = ReplicaRoutingDataSource.routing(primary, readOnlyDataSource);
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactionsUseHealthyReplicaAndFallBackToPrimaryWhenItLags() {
+        // Not used before its first health check.
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        readOnlyDataSource.checkHealth();
+        assertThat(readOnlyDataSource.healthyReplicas()).containsExactly("replica-1");
+        assertThat(readOnlyNode()).isEqualTo("replica");
+        assertThat(writeNode()).isEqualTo("primary");
+        assertThat(currentNode()).isEqualTo("primary");
+
+        replicaAdmin.update("update node set lag_seconds = 30");
+        readOnlyDataSource.checkHealth();
+        assertThat(readOnlyDataSource.healthyReplicas()).isEmpty();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+    }
+
+    private String readOnlyNode() {
+        return readOnlyTransaction.execute(status -> currentNode());
+    }
+
+    private String writeNode() {
+        return writeTransaction.execute(status -> currentNode());
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource database(String name, String node) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate admin = new JdbcTemplate(dataSource);
+        admin.execute("drop table if exists node");
+        admin.execute("create table node (name varchar(20) not null, lag_seconds int not null)");
+        admin.update("insert into node (name, lag_seconds) values (?, 0)", node);
+        return dataSource;
+    }
+}
@@ -1,36 +1,93 @@
 package com.main.mini_bank;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import com.main.mini_bank.config.TransferProperties;
+import com.main.mini_bank.controller.AccountController;
+import com.main.mini_bank.controller.TransactionController;
+import com.main.mini_bank.enums.LockingStrategy;
+import com.main.mini_bank.enums.TransactionStatus;
 import com.main.mini_bank.model.entity.Account;
+import com.main.mini_bank.model.entity.DailyBalance;
+import com.main.mini_bank.model.entity.JournalWatermark;
+import com.main.mini_bank.model.entity.Transaction;
 import com.main.mini_bank.repository.AccountRepository;
+import com.main.mini_bank.repository.JournalEntryRepository;
+import com.main.mini_bank.repository.JournalWatermarkRepository;
+import com.main.mini_bank.repository.OutboxEventRepository;
+import com.main.mini_bank.repository.DailyBalanceRepository;
+import com.main.mini_bank.repository.PendingCreditRepository;
+import com.main.mini_bank.repository.PendingTransfer;
+import com.main.mini_bank.repository.SnapshotDeferralRepository;
+import com.main.mini_bank.repository.SnapshotWatermarkRepository;
+import com.main.mini_bank.service.AccountDirectory;
+import com.main.mini_bank.service.AsyncTransferService;
+import com.main.mini_bank.service.BalanceSnapshotService;
 import com.main.mini_bank.service.CustomUserDetailsService;
+import com.main.mini_bank.service.HotAccountService;
+import com.main.mini_bank.service.IdempotencyService;
+import com.main.mini_bank.service.EventLog;
+import com.main.mini_bank.service.JournalService;
+import com.main.mini_bank.service.OutboxService;
 import com.main.mini_bank.service.JwtService;
+import com.main.mini_bank.service.TransactionService;
 import com.main.mini_bank.repository.TransactionRepository;
 import com.main.mini_bank.model.entity.User;
 import com.main.mini_bank.repository.UserRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.context.WebApplicationContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @SpringBootTest
+@Import(JdbcStatementRecorder.class)
 @ActiveProfiles("test")
 class TransactionAndAccountTests {
 
@@ -51,6 +108,56 @@ class TransactionAndAccountTests {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private PendingCreditRepository pendingCreditRepository;
+
+    @Autowired
+    private AccountDirectory accountDirectory;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AsyncTransferService asyncTransferService;
+
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Autowired
+    private JournalService journalService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private EventLog eventLog;
+
+    @Autowired
+    private DailyBalanceRepository dailyBalanceRepository;
+
+    @Autowired
+    private SnapshotWatermarkRepository snapshotWatermarkRepository;
+
+    @Autowired
+    private SnapshotDeferralRepository snapshotDeferralRepository;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private JournalWatermarkRepository journalWatermarkRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -60,14 +167,35 @@ class TransactionAndAccountTests {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private HotAccountService hotAccountService;
+
+    @Autowired
+    private TransferProperties transferProperties;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcStatementRecorder jdbcStatementRecorder;
+
     @BeforeEach
     void cleanDb() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
             .apply(SecurityMockMvcConfigurers.springSecurity())
             .build();
+        pendingCreditRepository.deleteAll();
+        snapshotDeferralRepository.deleteAll();
         transactionRepository.deleteAll();
+        journalEntryRepository.deleteAll();
+        outboxEventRepository.deleteAll();
         accountRepository.deleteAll();
         userRepository.deleteAll();
+        accountDirectory.evictAll();
     }
 
     @Test
@@ -131,6 +259,1147 @@ class TransactionAndAccountTests {
         assertThat(updatedTo.getBalance()).isEqualByComparingTo("5.00");
     }
 
+    @Test
+    void transferWithCachedTokenDoesNotQueryUsers() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-110", "Primary", new BigDecimal("100.00"));
+        Account toAccount = createAccount(toUser, "ACC-210", "Savings", new BigDecimal("25.00"));
+
+        String token = createToken(fromUser.getUsername());
+
+        // The first transfer resolves the principal and warms the token cache and the account directory.
+        transfer(token, fromAccount.getNumber(), toAccount.getNumber(), new BigDecimal("1.00"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        jdbcStatementRecorder.start();
+
+        Map<String, Object> payload = Map.of(
+            "fromAccountNumber", fromAccount.getNumber(),
+            "toAccountNumber", toAccount.getNumber(),
+            "amount", new BigDecimal("10.00")
+        );
+
+        mockMvc.perform(post("/api/transactions/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .content(objectMapper.writeValueAsString(payload)))
+            .andExpect(status().isOk());
+
+        List<JdbcStatementRecorder.Execution> executions = jdbcStatementRecorder.stop();
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        // Whether a pooled sequence hands out a new id block depends on earlier tests, so those calls are
+        // left out. Everything else is one locking query and four round trips, both legs in one batch each.
+        assertThat(executions)
+            .filteredOn(execution -> !execution.isSequenceCall())
+            .extracting(JdbcStatementRecorder.Execution::summary, JdbcStatementRecorder.Execution::batchSize)
+            .containsExactly(
+                tuple("select accounts", 0),
+                tuple("insert transactions", 1),
+                tuple("insert journal_entries", 2),
+                tuple("insert outbox_events", 1),
+                tuple("update accounts", 2)
+            );
+    }
+
+    @Test
+    void transferResolvesAccountsThroughDirectoryAndSeesRenames() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-170", "Primary", new BigDecimal("100.00"));
+        Account toAccount = createAccount(toUser, "ACC-270", "Savings", new BigDecimal("0.00"));
+
+        String fromToken = createToken(fromUser.getUsername());
+        String toToken = createToken(toUser.getUsername());
+        transfer(fromToken, fromAccount.getNumber(), toAccount.getNumber(), new BigDecimal("1.00"));
+
+        mockMvc.perform(put("/api/accounts/{id}", toAccount.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + toToken)
+                .content(objectMapper.writeValueAsString(Map.of("number", "ACC-271", "name", "Savings"))))
+            .andExpect(status().isOk());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // The cached source and the (uncached) renamed-away destination are resolved without a locking query.
+        mockMvc.perform(post("/api/transactions/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + fromToken)
+                .content(objectMapper.writeValueAsString(Map.of(
+                    "fromAccountNumber", "ACC-170",
+                    "toAccountNumber", "ACC-270",
+                    "amount", new BigDecimal("1.00")
+                ))))
+            .andExpect(status().isNotFound());
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+
+        transfer(fromToken, "ACC-170", "ACC-271", new BigDecimal("1.00"));
+        assertThat(accountRepository.findByNumber("ACC-271").orElseThrow().getBalance()).isEqualByComparingTo("2.00");
+    }
+
+    @Test
+    void accountNumberChecksIgnoreStaleDirectoryEntries() throws Exception {
+        User user = createUser("numberUser", "number@example.com");
+        Account account = createAccount(user, "ACC-N1", "Primary", new BigDecimal("0.00"));
+        String token = createToken(user.getUsername());
+        assertThat(accountDirectory.findByNumber("ACC-N1")).isPresent();
+
+        // Renumbered on another instance: this directory still maps ACC-N1 to the account.
+        account = accountRepository.findById(account.getId()).orElseThrow();
+        account.setNumber("ACC-N2");
+        accountRepository.save(account);
+
+        mockMvc.perform(post("/api/accounts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .content(objectMapper.writeValueAsString(Map.of(
+                    "number", "ACC-N1",
+                    "name", "Reused",
+                    "initialBalance", new BigDecimal("0.00")
+                ))))
+            .andExpect(status().isCreated());
+
+        mockMvc.perform(put("/api/accounts/{id}", account.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .content(objectMapper.writeValueAsString(Map.of("number", "ACC-N1", "name", "Primary"))))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    void accountRenameWaitsForConcurrentBalanceChangeAndKeepsIt() throws Exception {
+        User user = createUser("renameUser", "rename@example.com");
+        Account account = createAccount(user, "ACC-U1", "Primary", new BigDecimal("100.00"));
+        String token = createToken(user.getUsername());
+
+        // Stands in for a transfer holding the row lock while the rename arrives.
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> transfer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+            status -> {
+                Account row = accountRepository.findByIdForUpdate(account.getId()).orElseThrow();
+                row.setBalance(new BigDecimal("90.00"));
+                locked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        ));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<MvcResult> rename = CompletableFuture.supplyAsync(() -> {
+            try {
+                return mockMvc.perform(put("/api/accounts/{id}", account.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", "Bearer " + token)
+                        .content(objectMapper.writeValueAsString(Map.of("number", "ACC-U2", "name", "Primary"))))
+                    .andReturn();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        release.countDown();
+        transfer.get(5, TimeUnit.SECONDS);
+
+        MvcResult result = rename.get(10, TimeUnit.SECONDS);
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        Account renamed = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(renamed.getNumber()).isEqualTo("ACC-U2");
+        assertThat(renamed.getBalance()).isEqualByComparingTo("90.00");
+    }
+
+    @Test
+    void transferFromForeignAccountIsRejectedBeforeLocking() throws Exception {
+        User owner = createUser("owner", "owner@example.com");
+        User intruder = createUser("intruder", "intruder@example.com");
+
+        Account ownerAccount = createAccount(owner, "ACC-180", "Primary", new BigDecimal("100.00"));
+        Account intruderAccount = createAccount(intruder, "ACC-280", "Savings", new BigDecimal("0.00"));
+
+        String token = createToken(intruder.getUsername());
+        mockMvc.perform(get("/api/accounts")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/transactions/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .content(objectMapper.writeValueAsString(Map.of(
+                    "fromAccountNumber", ownerAccount.getNumber(),
+                    "toAccountNumber", intruderAccount.getNumber(),
+                    "amount", new BigDecimal("10.00")
+                ))))
+            .andExpect(status().isForbidden());
+
+        // Only the directory lookup of both accounts ran; no row was locked and no transaction was opened.
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getTransactionCount()).isZero();
+        assertThat(accountRepository.findByNumber("ACC-180").orElseThrow().getBalance()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void batchTransferAppliesItemsAndReportsFailures() throws Exception {
+        User payer = createUser("payer", "payer@example.com");
+        User payee = createUser("payee", "payee@example.com");
+
+        Account source = createAccount(payer, "ACC-140", "Payroll", new BigDecimal("100.00"));
+        Account first = createAccount(payee, "ACC-240", "Employee A", new BigDecimal("0.00"));
+        Account second = createAccount(payee, "ACC-340", "Employee B", new BigDecimal("0.00"));
+
+        String token = createToken(payer.getUsername());
+
+        Map<String, Object> payload = Map.of("transfers", List.of(
+            Map.of("fromAccountNumber", source.getNumber(), "toAccountNumber", first.getNumber(), "amount", 60),
+            Map.of("fromAccountNumber", source.getNumber(), "toAccountNumber", second.getNumber(), "amount", 50),
+            Map.of("fromAccountNumber", source.getNumber(), "toAccountNumber", "ACC-MISSING", "amount", 1),
+            Map.of("fromAccountNumber", first.getNumber(), "toAccountNumber", source.getNumber(), "amount", 1),
+            Map.of("fromAccountNumber", source.getNumber(), "toAccountNumber", second.getNumber(), "amount", 40)
+        ));
+
+        mockMvc.perform(post("/api/transactions/transfers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .content(objectMapper.writeValueAsString(payload)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(2))
+            .andExpect(jsonPath("$.failed").value(3))
+            .andExpect(jsonPath("$.results[0].status").value("SUCCESS"))
+            .andExpect(jsonPath("$.results[0].transactionId").isNumber())
+            .andExpect(jsonPath("$.results[1].message").value("Insufficient funds"))
+            .andExpect(jsonPath("$.results[1].transactionId").isNumber())
+            .andExpect(jsonPath("$.results[2].message").value("Account not found"))
+            .andExpect(jsonPath("$.results[3].message").value("Cannot transfer from this account"))
+            .andExpect(jsonPath("$.results[4].status").value("SUCCESS"));
+
+        assertThat(accountRepository.findByNumber("ACC-140").orElseThrow().getBalance()).isEqualByComparingTo("0.00");
+        assertThat(accountRepository.findByNumber("ACC-240").orElseThrow().getBalance()).isEqualByComparingTo("60.00");
+        assertThat(accountRepository.findByNumber("ACC-340").orElseThrow().getBalance()).isEqualByComparingTo("40.00");
+        assertThat(transactionRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void batchTransferWritesEachTableInOneJdbcBatch() throws Exception {
+        User payer = createUser("payer", "payer@example.com");
+        User payee = createUser("payee", "payee@example.com");
+
+        Account source = createAccount(payer, "ACC-145", "Payroll", new BigDecimal("100.00"));
+        Account target = createAccount(payee, "ACC-245", "Employee", new BigDecimal("0.00"));
+
+        String token = createToken(payer.getUsername());
+
+        int transfers = 20;
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < transfers; i++) {
+            items.add(Map.of("fromAccountNumber", source.getNumber(), "toAccountNumber", target.getNumber(), "amount", 1));
+        }
+
+        jdbcStatementRecorder.start();
+        mockMvc.perform(post("/api/transactions/transfers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .content(objectMapper.writeValueAsString(Map.of("transfers", items))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(transfers));
+        List<JdbcStatementRecorder.Execution> executions = jdbcStatementRecorder.stop();
+
+        // Twenty ledger rows, forty journal legs and twenty outbox events: one round trip per table.
+        assertThat(executions)
+            .filteredOn(execution -> !execution.summary().startsWith("select"))
+            .extracting(JdbcStatementRecorder.Execution::summary, JdbcStatementRecorder.Execution::batchSize)
+            .containsExactly(
+                tuple("insert transactions", transfers),
+                tuple("insert journal_entries", 2 * transfers),
+                tuple("insert outbox_events", transfers),
+                tuple("update accounts", 2)
+            );
+        assertThat(transactionRepository.count()).isEqualTo(transfers);
+    }
+
+    @Test
+    void flaggingHotAccountsThroughActuatorNeedsAnAdminToken() throws Exception {
+        User owner = createUser("owner", "owner@example.com");
+        User admin = createUser("opsAdmin", "ops@example.com");
+        createAccount(owner, "ACC-160", "Merchant", new BigDecimal("0.00"));
+        String flag = "{\"hot\": true}";
+
+        mockMvc.perform(post("/actuator/hotaccounts/ACC-160").contentType(MediaType.APPLICATION_JSON).content(flag))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/actuator/hotaccounts/ACC-160")
+                .header("Authorization", "Bearer " + createToken(owner.getUsername()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(flag))
+            .andExpect(status().isForbidden());
+        assertThat(hotAccountService.isHot("ACC-160")).isFalse();
+
+        mockMvc.perform(post("/actuator/hotaccounts/ACC-160")
+                .header("Authorization", "Bearer " + createToken(admin.getUsername()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(flag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.hot").value(true));
+        assertThat(hotAccountService.isHot("ACC-160")).isTrue();
+        hotAccountService.setHot("ACC-160", false);
+    }
+
+    @Test
+    void transferToHotAccountDefersCreditUntilFold() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-150", "Primary", new BigDecimal("100.00"));
+        Account toAccount = createAccount(toUser, "ACC-250", "Merchant", new BigDecimal("5.00"));
+        assertThat(hotAccountService.setHot(toAccount.getNumber(), true)).isTrue();
+        assertThat(hotAccountService.isHot(toAccount.getNumber())).isTrue();
+        assertThat(hotAccountService.setHot("ACC-MISSING", true)).isFalse();
+
+        String token = createToken(fromUser.getUsername());
+        transfer(token, fromAccount.getNumber(), toAccount.getNumber(), new BigDecimal("30.00"));
+        transfer(token, fromAccount.getNumber(), toAccount.getNumber(), new BigDecimal("20.00"));
+
+        assertThat(accountRepository.findByNumber("ACC-150").orElseThrow().getBalance()).isEqualByComparingTo("50.00");
+        assertThat(accountRepository.findByNumber("ACC-250").orElseThrow().getBalance()).isEqualByComparingTo("5.00");
+        assertThat(pendingCreditRepository.count()).isEqualTo(2);
+
+        hotAccountService.foldPendingCredits();
+
+        assertThat(accountRepository.findByNumber("ACC-250").orElseThrow().getBalance()).isEqualByComparingTo("55.00");
+        assertThat(pendingCreditRepository.count()).isZero();
+    }
+
+    @Test
+    void optimisticTransfersRetryConflictsWithoutLosingUpdates() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-160", "Primary", new BigDecimal("100.00"));
+        Account toAccount = createAccount(toUser, "ACC-260", "Savings", new BigDecimal("0.00"));
+
+        String token = createToken(fromUser.getUsername());
+        String payload = objectMapper.writeValueAsString(Map.of(
+            "fromAccountNumber", fromAccount.getNumber(),
+            "toAccountNumber", toAccount.getNumber(),
+            "amount", new BigDecimal("1.00")
+        ));
+
+        transferProperties.setLockingStrategy(LockingStrategy.OPTIMISTIC);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                statuses.add(executor.submit(() -> mockMvc.perform(post("/api/transactions/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", "Bearer " + token)
+                        .content(payload))
+                    .andReturn()
+                    .getResponse()
+                    .getStatus()));
+            }
+            for (Future<Integer> status : statuses) {
+                // Exhausted retries surface as 409; every other outcome must be a committed transfer.
+                assertThat(status.get()).isIn(200, 409);
+            }
+        } finally {
+            executor.shutdown();
+            transferProperties.setLockingStrategy(LockingStrategy.PESSIMISTIC);
+        }
+
+        long applied = transactionRepository.findAll().stream()
+            .filter(transaction -> transaction.getStatus() == TransactionStatus.SUCCESS)
+            .count();
+        Account updatedFrom = accountRepository.findByNumber("ACC-160").orElseThrow();
+        Account updatedTo = accountRepository.findByNumber("ACC-260").orElseThrow();
+
+        assertThat(applied).isPositive();
+        assertThat(updatedFrom.getBalance()).isEqualByComparingTo(new BigDecimal(100 - applied));
+        assertThat(updatedTo.getBalance()).isEqualByComparingTo(new BigDecimal(applied));
+        assertThat(updatedFrom.getVersion()).isEqualTo(applied);
+    }
+
+    @Test
+    void conditionalUpdateTransfersDebitAndCreditWithoutReadingAccounts() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        // The destination sorts first, so the credit is issued before the guarded debit.
+        Account fromAccount = createAccount(fromUser, "ACC-170", "Primary", new BigDecimal("100.00"));
+        Account toAccount = createAccount(toUser, "ACC-070", "Savings", new BigDecimal("5.00"));
+
+        String token = createToken(fromUser.getUsername());
+
+        transferProperties.setLockingStrategy(LockingStrategy.CONDITIONAL_UPDATE);
+        try {
+            mockMvc.perform(post("/api/transactions/transfer")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header("Authorization", "Bearer " + token)
+                    .content(objectMapper.writeValueAsString(Map.of(
+                        "fromAccountNumber", fromAccount.getNumber(),
+                        "toAccountNumber", toAccount.getNumber(),
+                        "amount", new BigDecimal("40.00")
+                    ))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"));
+
+            // Not covered: the early credit is reversed and only a FAILED ledger row remains.
+            mockMvc.perform(post("/api/transactions/transfer")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header("Authorization", "Bearer " + token)
+                    .content(objectMapper.writeValueAsString(Map.of(
+                        "fromAccountNumber", fromAccount.getNumber(),
+                        "toAccountNumber", toAccount.getNumber(),
+                        "amount", new BigDecimal("70.00")
+                    ))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("FAILED"));
+        } finally {
+            transferProperties.setLockingStrategy(LockingStrategy.PESSIMISTIC);
+        }
+
+        Account updatedFrom = accountRepository.findByNumber("ACC-170").orElseThrow();
+        Account updatedTo = accountRepository.findByNumber("ACC-070").orElseThrow();
+
+        assertThat(updatedFrom.getBalance()).isEqualByComparingTo("60.00");
+        assertThat(updatedTo.getBalance()).isEqualByComparingTo("45.00");
+        assertThat(updatedFrom.getVersion()).isEqualTo(1);
+        assertThat(transactionRepository.findAll())
+            .extracting(Transaction::getStatus)
+            .containsExactlyInAnyOrder(TransactionStatus.SUCCESS, TransactionStatus.FAILED);
+    }
+
+    @Test
+    void conditionalUpdateTransferResolvesNumbersRenumberedBehindTheDirectory() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+        User otherUser = createUser("otherUser", "other@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-175", "Primary", new BigDecimal("100.00"));
+        Account toAccount = createAccount(toUser, "ACC-275", "Savings", new BigDecimal("0.00"));
+
+        String token = createToken(fromUser.getUsername());
+
+        transfer(token, "ACC-175", "ACC-275", new BigDecimal("1.00"));
+
+        // Renumbered without going through AccountService, so the directory still maps ACC-275 to it.
+        toAccount = accountRepository.findById(toAccount.getId()).orElseThrow();
+        toAccount.setNumber("ACC-276");
+        accountRepository.save(toAccount);
+        Account replacement = createAccount(otherUser, "ACC-275", "Replacement", new BigDecimal("0.00"));
+        assertThat(accountDirectory.findByNumber("ACC-275").orElseThrow().id()).isEqualTo(toAccount.getId());
+
+        transferProperties.setLockingStrategy(LockingStrategy.CONDITIONAL_UPDATE);
+        try {
+            mockMvc.perform(post("/api/transactions/transfer")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header("Authorization", "Bearer " + token)
+                    .content(objectMapper.writeValueAsString(Map.of(
+                        "fromAccountNumber", "ACC-175",
+                        "toAccountNumber", "ACC-275",
+                        "amount", new BigDecimal("10.00")
+                    ))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.toAccountId").value(replacement.getId().toString()));
+
+            // A renumbered source no longer answers to its old number.
+            fromAccount = accountRepository.findById(fromAccount.getId()).orElseThrow();
+            fromAccount.setNumber("ACC-177");
+            accountRepository.save(fromAccount);
+
+            mockMvc.perform(post("/api/transactions/transfer")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header("Authorization", "Bearer " + token)
+                    .content(objectMapper.writeValueAsString(Map.of(
+                        "fromAccountNumber", "ACC-175",
+                        "toAccountNumber", "ACC-275",
+                        "amount", new BigDecimal("10.00")
+                    ))))
+                .andExpect(status().isNotFound());
+        } finally {
+            transferProperties.setLockingStrategy(LockingStrategy.PESSIMISTIC);
+        }
+
+        assertThat(accountRepository.findByNumber("ACC-177").orElseThrow().getBalance()).isEqualByComparingTo("89.00");
+        assertThat(accountRepository.findByNumber("ACC-276").orElseThrow().getBalance()).isEqualByComparingTo("1.00");
+        assertThat(accountRepository.findByNumber("ACC-275").orElseThrow().getBalance()).isEqualByComparingTo("10.00");
+        assertThat(transactionRepository.findAll())
+            .extracting(transaction -> transaction.getToAccount().getId())
+            .containsExactlyInAnyOrder(toAccount.getId(), replacement.getId());
+    }
+
+    @Test
+    void transferWithIdempotencyKeyReplaysOriginalResponse() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-180", "Primary", new BigDecimal("100.00"));
+        Account toAccount = createAccount(toUser, "ACC-280", "Savings", new BigDecimal("0.00"));
+
+        String token = createToken(fromUser.getUsername());
+        String payload = objectMapper.writeValueAsString(Map.of(
+            "fromAccountNumber", fromAccount.getNumber(),
+            "toAccountNumber", toAccount.getNumber(),
+            "amount", new BigDecimal("10.00")
+        ));
+
+        String original = mockMvc.perform(post("/api/transactions/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", "retry-1")
+                .content(payload))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        long transactionId = objectMapper.readTree(original).get("transactionId").asLong();
+
+        // Answered from the recent-key cache.
+        mockMvc.perform(post("/api/transactions/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", "retry-1")
+                .content(payload))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.transactionId").value(transactionId));
+
+        // As another instance would see it: the duplicate insert rolls the retry back and the stored response wins.
+        idempotencyService.evictAll();
+        mockMvc.perform(post("/api/transactions/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", "retry-1")
+                .content(payload))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.transactionId").value(transactionId))
+            .andExpect(jsonPath("$.message").value("Transfer successful"));
+
+        mockMvc.perform(post("/api/transactions/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", "retry-1")
+                .content(objectMapper.writeValueAsString(Map.of(
+                    "fromAccountNumber", fromAccount.getNumber(),
+                    "toAccountNumber", toAccount.getNumber(),
+                    "amount", new BigDecimal("20.00")
+                ))))
+            .andExpect(status().isUnprocessableEntity());
+
+        assertThat(transactionRepository.count()).isEqualTo(1);
+        assertThat(accountRepository.findByNumber("ACC-180").orElseThrow().getBalance()).isEqualByComparingTo("90.00");
+        assertThat(accountRepository.findByNumber("ACC-280").orElseThrow().getBalance()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void submittedTransferIsAcceptedAsPendingAndSettledInBackground() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-190", "Primary", new BigDecimal("100.00"));
+        Account toAccount = createAccount(toUser, "ACC-290", "Savings", new BigDecimal("0.00"));
+
+        String token = createToken(fromUser.getUsername());
+        LocalDateTime submitted = LocalDateTime.now();
+        String accepted = mockMvc.perform(post("/api/transactions/transfers/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .content(objectMapper.writeValueAsString(Map.of(
+                    "fromAccountNumber", fromAccount.getNumber(),
+                    "toAccountNumber", toAccount.getNumber(),
+                    "amount", new BigDecimal("25.00")
+                ))))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.status").value("PENDING"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        long transactionId = objectMapper.readTree(accepted).get("transactionId").asLong();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+            mockMvc.perform(get("/api/transactions/" + transactionId)
+                    .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+        );
+        // Settling keeps the submission date, so the row stays where history cursors and partitions put it.
+        Transaction settled = transactionRepository.findById(transactionId).orElseThrow();
+        assertThat(settled.getTransactionDate()).isBetween(submitted, settled.getSettledAt());
+
+        assertThat(accountRepository.findByNumber("ACC-190").orElseThrow().getBalance()).isEqualByComparingTo("75.00");
+        assertThat(accountRepository.findByNumber("ACC-290").orElseThrow().getBalance()).isEqualByComparingTo("25.00");
+
+        // Only the owners of the two accounts can see it.
+        User stranger = createUser("stranger", "stranger@example.com");
+        mockMvc.perform(get("/api/transactions/" + transactionId)
+                .header("Authorization", "Bearer " + createToken(stranger.getUsername())))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void pendingTransferThatCannotSettleIsFailedWithoutStallingItsBatch() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-191", "Primary", new BigDecimal("100.00"));
+        Account toAccount = createAccount(toUser, "ACC-291", "Savings", new BigDecimal("0.00"));
+        // A credit to this account overflows numeric(19, 2), so settling it throws on flush.
+        Account fullAccount = createAccount(toUser, "ACC-292", "Full", new BigDecimal("99999999999999999.00"));
+
+        String token = createToken(fromUser.getUsername());
+        long poisoned = submitAsync(token, fromAccount.getNumber(), fullAccount.getNumber(), "1.00");
+        long healthy = submitAsync(token, fromAccount.getNumber(), toAccount.getNumber(), "10.00");
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(transactionRepository.findById(poisoned).orElseThrow().getStatus())
+                .isEqualTo(TransactionStatus.FAILED);
+            assertThat(transactionRepository.findById(healthy).orElseThrow().getStatus())
+                .isEqualTo(TransactionStatus.SUCCESS);
+        });
+        assertThat(accountRepository.findByNumber("ACC-191").orElseThrow().getBalance()).isEqualByComparingTo("90.00");
+        assertThat(accountRepository.findByNumber("ACC-291").orElseThrow().getBalance()).isEqualByComparingTo("10.00");
+        assertThat(accountRepository.findByNumber("ACC-292").orElseThrow().getBalance())
+            .isEqualByComparingTo("99999999999999999.00");
+    }
+
+    @Test
+    void sweptPendingTransferIsCheckedAgainstItsSubmitterNotTheCurrentOwner() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+        User newOwner = createUser("newOwner", "new@example.com");
+
+        Account keptAccount = createAccount(fromUser, "ACC-193", "Primary", new BigDecimal("100.00"));
+        Account soldAccount = createAccount(fromUser, "ACC-194", "Sold", new BigDecimal("100.00"));
+        Account toAccount = createAccount(toUser, "ACC-293", "Savings", new BigDecimal("0.00"));
+
+        long accepted = submitAsync(createToken(fromUser.getUsername()), "ACC-193", "ACC-293", "1.00");
+        assertThat(transactionRepository.findById(accepted).orElseThrow().getSubmittedBy()).isEqualTo(fromUser.getId());
+
+        // Left PENDING by a restart an hour ago; the second source account has changed hands since.
+        LocalDateTime submitted = LocalDateTime.now().minusHours(1);
+        Transaction kept = stalledPendingRow(keptAccount, toAccount, fromUser, submitted);
+        Transaction sold = stalledPendingRow(soldAccount, toAccount, fromUser, submitted);
+        soldAccount.setUser(newOwner);
+        accountRepository.save(soldAccount);
+
+        asyncTransferService.requeueStalled();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(transactionRepository.findById(kept.getId()).orElseThrow().getStatus())
+                .isEqualTo(TransactionStatus.SUCCESS);
+            assertThat(transactionRepository.findById(sold.getId()).orElseThrow().getStatus())
+                .isEqualTo(TransactionStatus.FAILED);
+        });
+        assertThat(accountRepository.findByNumber("ACC-193").orElseThrow().getBalance()).isEqualByComparingTo("89.00");
+        assertThat(accountRepository.findByNumber("ACC-194").orElseThrow().getBalance()).isEqualByComparingTo("100.00");
+        assertThat(accountRepository.findByNumber("ACC-293").orElseThrow().getBalance()).isEqualByComparingTo("11.00");
+    }
+
+    private Transaction stalledPendingRow(Account fromAccount, Account toAccount, User submitter, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setFromAccount(fromAccount);
+        transaction.setToAccount(toAccount);
+        transaction.setAmount(new BigDecimal("10.00"));
+        transaction.setTransactionDate(date);
+        transaction.setStatus(TransactionStatus.PENDING);
+        transaction.setSubmittedBy(submitter.getId());
+        return transactionRepository.save(transaction);
+    }
+
+    private long submitAsync(String token, String fromNumber, String toNumber, String amount) throws Exception {
+        String accepted = mockMvc.perform(post("/api/transactions/transfers/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .content(objectMapper.writeValueAsString(Map.of(
+                    "fromAccountNumber", fromNumber,
+                    "toAccountNumber", toNumber,
+                    "amount", new BigDecimal(amount)
+                ))))
+            .andExpect(status().isAccepted())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return objectMapper.readTree(accepted).get("transactionId").asLong();
+    }
+
+    @Test
+    void statementCombinesClosedDaySnapshotsWithTodaysLedger() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        // Balances after two earlier transfers of 10.00 and 5.00 that are already in the ledger.
+        Account fromAccount = createAccount(fromUser, "ACC-200", "Primary", new BigDecimal("85.00"));
+        Account toAccount = createAccount(toUser, "ACC-300", "Savings", new BigDecimal("15.00"));
+        LocalDate today = LocalDate.now();
+        saveLedgerRow(fromAccount, toAccount, "10.00", today.minusDays(3));
+        saveLedgerRow(fromAccount, toAccount, "5.00", today.minusDays(2));
+
+        snapshotWatermarkRepository.deleteAll();
+        balanceSnapshotService.closeDays();
+        assertThat(dailyBalanceRepository.count()).isEqualTo(4);
+
+        String token = createToken(fromUser.getUsername());
+        mockMvc.perform(post("/api/transactions/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .content(objectMapper.writeValueAsString(Map.of(
+                    "fromAccountNumber", fromAccount.getNumber(),
+                    "toAccountNumber", toAccount.getNumber(),
+                    "amount", new BigDecimal("20.00")
+                ))))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/accounts/" + fromAccount.getId() + "/statement")
+                .header("Authorization", "Bearer " + token)
+                .param("from", today.minusDays(3).toString())
+                .param("to", today.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.openingBalance").value(100.00))
+            .andExpect(jsonPath("$.totalDebits").value(35.00))
+            .andExpect(jsonPath("$.closingBalance").value(65.00))
+            .andExpect(jsonPath("$.days.length()").value(3))
+            .andExpect(jsonPath("$.days[0].closingBalance").value(90.00))
+            .andExpect(jsonPath("$.days[1].closingBalance").value(85.00))
+            .andExpect(jsonPath("$.days[2].date").value(today.toString()));
+
+        mockMvc.perform(get("/api/accounts/" + fromAccount.getId() + "/statement")
+                .header("Authorization", "Bearer " + token)
+                .param("from", today.toString()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void dayIsNotClosedWhileATransferSubmittedOnItIsPending() {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-201", "Primary", new BigDecimal("85.00"));
+        Account toAccount = createAccount(toUser, "ACC-301", "Savings", new BigDecimal("15.00"));
+        LocalDate today = LocalDate.now();
+        saveLedgerRow(fromAccount, toAccount, "10.00", today.minusDays(3));
+        Transaction pending = saveLedgerRow(fromAccount, toAccount, "5.00", today.minusDays(2));
+        pending.setStatus(TransactionStatus.PENDING);
+        pending.setSettledAt(null);
+        transactionRepository.save(pending);
+
+        // A sweep interval longer than the transfer's age, so the day still waits for it.
+        Integer recoveryInterval = transferProperties.getAsyncRecoveryIntervalMs();
+        transferProperties.setAsyncRecoveryIntervalMs((int) Duration.ofDays(3).toMillis());
+        try {
+            snapshotWatermarkRepository.deleteAll();
+            balanceSnapshotService.closeDays();
+        } finally {
+            transferProperties.setAsyncRecoveryIntervalMs(recoveryInterval);
+        }
+        assertThat(balanceSnapshotService.closedThrough()).isEqualTo(today.minusDays(3));
+
+        // Settling moves both balances, as the async worker would: 85.00 - 5.00 on the source.
+        transactionService.settlePending(List.of(new PendingTransfer(
+            pending.getId(), fromUser.getId(), "ACC-201", "ACC-301", new BigDecimal("5.00")
+        )));
+        balanceSnapshotService.closeDays();
+        assertThat(balanceSnapshotService.closedThrough()).isAfterOrEqualTo(today.minusDays(2));
+        assertThat(dailyBalanceRepository.findLatestOnOrBefore(fromAccount.getId(), today.minusDays(2), Limit.of(1)))
+            .extracting(DailyBalance::getClosingBalance)
+            .usingElementComparator(BigDecimal::compareTo)
+            .containsExactly(new BigDecimal("80.00"));
+        assertThat(dailyBalanceRepository.findLatestOnOrBefore(toAccount.getId(), today.minusDays(2), Limit.of(1)))
+            .extracting(DailyBalance::getClosingBalance)
+            .usingElementComparator(BigDecimal::compareTo)
+            .containsExactly(new BigDecimal("20.00"));
+    }
+
+    @Test
+    void dayIsClosedPastAStuckPendingTransferWhichIsAddedOnceSettled() {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-201", "Primary", new BigDecimal("85.00"));
+        Account toAccount = createAccount(toUser, "ACC-301", "Savings", new BigDecimal("15.00"));
+        LocalDate today = LocalDate.now();
+        saveLedgerRow(fromAccount, toAccount, "10.00", today.minusDays(3));
+        Transaction pending = saveLedgerRow(fromAccount, toAccount, "5.00", today.minusDays(2));
+        pending.setStatus(TransactionStatus.PENDING);
+        pending.setSettledAt(null);
+        transactionRepository.save(pending);
+        saveLedgerRow(fromAccount, toAccount, "1.00", today.minusDays(1));
+
+        // Older than two sweep intervals: later days are not held back by it.
+        snapshotWatermarkRepository.deleteAll();
+        balanceSnapshotService.closeDays();
+        assertThat(balanceSnapshotService.closedThrough()).isEqualTo(today.minusDays(1));
+        assertThat(snapshotDeferralRepository.findAll()).hasSize(1);
+        assertThat(dailyBalanceRepository.findLatestOnOrBefore(fromAccount.getId(), today.minusDays(2), Limit.of(1)))
+            .extracting(DailyBalance::getBalanceDate)
+            .containsExactly(today.minusDays(3));
+
+        transactionService.settlePending(List.of(new PendingTransfer(
+            pending.getId(), fromUser.getId(), "ACC-201", "ACC-301", new BigDecimal("5.00")
+        )));
+        balanceSnapshotService.closeDays();
+
+        assertThat(snapshotDeferralRepository.findAll()).isEmpty();
+        assertThat(dailyBalanceRepository.findBetween(fromAccount.getId(), today.minusDays(3), today.minusDays(1)))
+            .extracting(DailyBalance::getBalanceDate, DailyBalance::getDebits, DailyBalance::getClosingBalance)
+            .containsExactly(
+                tuple(today.minusDays(3), new BigDecimal("10.00"), new BigDecimal("86.00")),
+                tuple(today.minusDays(2), new BigDecimal("5.00"), new BigDecimal("81.00")),
+                tuple(today.minusDays(1), new BigDecimal("1.00"), new BigDecimal("80.00"))
+            );
+        // With nothing after yesterday, its closing balance is the account's balance.
+        assertThat(accountRepository.findById(fromAccount.getId()).orElseThrow().getBalance())
+            .isEqualByComparingTo("80.00");
+        assertThat(balanceSnapshotService.balanceAt(toAccount.getId(), today.minusDays(1), today.minusDays(1)))
+            .isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    void journalPostsBothLegsAndRebuildsBalanceFromCheckpoint() throws Exception {
+        User user = createUser("journalUser", "journal@example.com");
+        String token = createToken(user.getUsername());
+        for (Map<String, Object> account : List.of(
+            Map.<String, Object>of("number", "ACC-J1", "name", "Journal Primary", "initialBalance", new BigDecimal("100.00")),
+            Map.<String, Object>of("number", "ACC-J2", "name", "Journal Savings", "initialBalance", new BigDecimal("0.00"))
+        )) {
+            mockMvc.perform(post("/api/accounts")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header("Authorization", "Bearer " + token)
+                    .content(objectMapper.writeValueAsString(account)))
+                .andExpect(status().isCreated());
+        }
+
+        MvcResult first = transferAndExpectOk(token, "ACC-J1", "ACC-J2", "30.00");
+        long transactionId = objectMapper.readTree(first.getResponse().getContentAsString()).get("transactionId").asLong();
+        assertThat(journalEntryRepository.findByTransactionIdOrderByAmount(transactionId))
+            .extracting(entry -> entry.getAmount().toPlainString())
+            .containsExactly("-30.00", "30.00");
+
+        // The checkpoint covers the opening balance and the first transfer; the second is read as the tail.
+        journalWatermarkRepository.deleteAll();
+        transferProperties.setJournalCheckpointGraceMinutes(0);
+        try {
+            journalService.checkpoint();
+        } finally {
+            transferProperties.setJournalCheckpointGraceMinutes(5);
+        }
+        LocalDateTime watermark = journalWatermarkRepository.findById(JournalWatermark.ID)
+            .orElseThrow()
+            .getPostedBefore();
+        transferAndExpectOk(token, "ACC-J1", "ACC-J2", "20.00");
+
+        Account drifted = accountRepository.findByNumber("ACC-J1").orElseThrow();
+        drifted.setBalance(new BigDecimal("999.00"));
+        accountRepository.save(drifted);
+
+        assertThat(journalService.rebuildBalance(drifted.getId())).isEqualByComparingTo("50.00");
+        assertThat(accountRepository.findByNumber("ACC-J1").orElseThrow().getBalance()).isEqualByComparingTo("50.00");
+        UUID savingsId = accountRepository.findByNumber("ACC-J2").orElseThrow().getId();
+        assertThat(journalService.rebuildBalance(savingsId)).isEqualByComparingTo("50.00");
+
+        // The next run only visits accounts posted to since the watermark, and corrects their drift itself.
+        drifted = accountRepository.findByNumber("ACC-J1").orElseThrow();
+        drifted.setBalance(new BigDecimal("1.00"));
+        accountRepository.save(drifted);
+        transferProperties.setJournalCheckpointGraceMinutes(0);
+        try {
+            journalService.checkpoint();
+        } finally {
+            transferProperties.setJournalCheckpointGraceMinutes(5);
+        }
+        assertThat(accountRepository.findByNumber("ACC-J1").orElseThrow().getBalance()).isEqualByComparingTo("50.00");
+        assertThat(journalWatermarkRepository.findById(JournalWatermark.ID).orElseThrow().getPostedBefore())
+            .isAfter(watermark);
+    }
+
+    @Test
+    void finishedTransfersAreRelayedFromOutboxToEventLogWithConsumerOffsets() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-O1", "Primary", new BigDecimal("50.00"));
+        Account toAccount = createAccount(toUser, "ACC-O2", "Savings", new BigDecimal("0.00"));
+
+        String token = createToken(fromUser.getUsername());
+        String consumer = "notifications";
+        eventLog.commit(consumer, eventLog.read(0, Integer.MAX_VALUE).size());
+
+        for (String amount : List.of("30.00", "30.00")) {
+            mockMvc.perform(post("/api/transactions/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .content(objectMapper.writeValueAsString(Map.of(
+                    "fromAccountNumber", fromAccount.getNumber(),
+                    "toAccountNumber", toAccount.getNumber(),
+                    "amount", new BigDecimal(amount)
+                ))));
+        }
+        assertThat(outboxEventRepository.count()).isEqualTo(2);
+
+        outboxService.relay();
+
+        assertThat(outboxEventRepository.count()).isZero();
+        List<EventLog.Entry> entries = eventLog.poll(consumer, 10);
+        assertThat(entries)
+            .extracting(entry -> objectMapper.readTree(entry.payload()).get("status").asText())
+            .containsExactly("SUCCESS", "FAILED");
+        assertThat(objectMapper.readTree(entries.get(0).payload()).get("fromAccountId").asText())
+            .isEqualTo(fromAccount.getId().toString());
+
+        // A consumer that commits resumes after what it processed; one that has not still sees everything.
+        eventLog.commit(consumer, entries.get(0).nextOffset());
+        assertThat(eventLog.poll(consumer, 10)).hasSize(1);
+        assertThat(eventLog.poll("fraud", 10)).hasSizeGreaterThanOrEqualTo(2);
+
+        // Appends join the relay's transaction, so a relay that rolls back leaves nothing in the log.
+        long end = entries.get(entries.size() - 1).nextOffset();
+        transactionTemplate.executeWithoutResult(status -> {
+            eventLog.append(List.of("{}"));
+            status.setRollbackOnly();
+        });
+        assertThat(eventLog.read(end, 10)).isEmpty();
+    }
+
+    private MvcResult transferAndExpectOk(String token, String from, String to, String amount) throws Exception {
+        return mockMvc.perform(post("/api/transactions/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .content(objectMapper.writeValueAsString(Map.of(
+                    "fromAccountNumber", from,
+                    "toAccountNumber", to,
+                    "amount", new BigDecimal(amount)
+                ))))
+            .andExpect(status().isOk())
+            .andReturn();
+    }
+
+    @Test
+    void accountFeedPushesCommittedTransfersAndBalancesToBothOwners() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-F1", "Primary", new BigDecimal("100.00"));
+        Account toAccount = createAccount(toUser, "ACC-F2", "Savings", new BigDecimal("5.00"));
+
+        String fromToken = createToken(fromUser.getUsername());
+        MvcResult senderFeed = openFeed(fromToken);
+        MvcResult recipientFeed = openFeed(createToken(toUser.getUsername()));
+        assertThat(meterRegistry.get("bank.feed.connections").gauge().value()).isEqualTo(2.0);
+
+        transferAndExpectOk(fromToken, fromAccount.getNumber(), toAccount.getNumber(), "30.00");
+
+        String sent = awaitFeed(senderFeed, "event:balance");
+        String received = awaitFeed(recipientFeed, "event:balance");
+        assertThat(sent).contains("event:transaction").contains("\"amount\":30.00");
+        assertThat(received).contains("event:transaction").contains("\"toAccountNumber\":\"ACC-F2\"");
+        assertThat(sent).contains("\"balance\":70.00").doesNotContain(toAccount.getId() + "\",\"balance\"");
+        assertThat(received).contains("\"balance\":35.00").doesNotContain(fromAccount.getId() + "\",\"balance\"");
+
+        // A closed connection is dropped from the fan-out.
+        senderFeed.getRequest().getAsyncContext().complete();
+        recipientFeed.getRequest().getAsyncContext().complete();
+        assertThat(meterRegistry.get("bank.feed.connections").gauge().value()).isZero();
+    }
+
+    private MvcResult openFeed(String token) throws Exception {
+        return mockMvc.perform(get("/api/accounts/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Authorization", "Bearer " + token))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    }
+
+    // Events are written by a sender thread after the transfer has returned.
+    private String awaitFeed(MvcResult feed, String expected) {
+        return await().atMost(Duration.ofSeconds(5))
+            .until(() -> feed.getResponse().getContentAsString(), body -> body.contains(expected));
+    }
+
+    @Test
+    void transferMetricsCountOutcomesAndTimeStagesAndLockWaits() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-M1", "Primary", new BigDecimal("50.00"));
+        Account toAccount = createAccount(toUser, "ACC-M2", "Savings", new BigDecimal("0.00"));
+
+        String token = createToken(fromUser.getUsername());
+        double succeeded = transferCount("success");
+        double failed = transferCount("failed");
+        long lockWaits = meterRegistry.get("bank.account.lock.wait").tag("accounts", "2").timer().count();
+        long commits = meterRegistry.get("bank.transfer.stage").tags("mode", "single", "stage", "commit").timer().count();
+
+        for (String amount : List.of("30.00", "30.00")) {
+            mockMvc.perform(post("/api/transactions/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .content(objectMapper.writeValueAsString(Map.of(
+                    "fromAccountNumber", fromAccount.getNumber(),
+                    "toAccountNumber", toAccount.getNumber(),
+                    "amount", new BigDecimal(amount)
+                ))));
+        }
+
+        assertThat(transferCount("success") - succeeded).isEqualTo(1);
+        assertThat(transferCount("failed") - failed).isEqualTo(1);
+        assertThat(meterRegistry.get("bank.account.lock.wait").tag("accounts", "2").timer().count() - lockWaits)
+            .isEqualTo(2);
+        assertThat(meterRegistry.get("bank.transfer.stage").tags("mode", "single", "stage", "commit").timer().count()
+            - commits).isEqualTo(2);
+        assertThat(meterRegistry.get("bank.auth.jwt.validation").timers()).isNotEmpty();
+
+        mockMvc.perform(get("/actuator/health"))
+            .andExpect(status().isOk());
+        // Without a separate management port, metrics are not open to anonymous callers.
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    private double transferCount(String outcome) {
+        return meterRegistry.get("bank.transfers").tags("mode", "single", "outcome", outcome).counter().count();
+    }
+
+    @Test
+    void historyPagesWithKeysetCursor() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-120", "Primary", new BigDecimal("100.00"));
+        Account toAccount = createAccount(toUser, "ACC-220", "Savings", new BigDecimal("0.00"));
+
+        String token = createToken(fromUser.getUsername());
+        for (int i = 0; i < 3; i++) {
+            transfer(token, fromAccount.getNumber(), toAccount.getNumber(), new BigDecimal("1.00"));
+        }
+
+        MvcResult firstPage = mockMvc.perform(get("/api/transactions/account/{accountId}", fromAccount.getId())
+                .param("limit", "2")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(header().exists(TransactionController.NEXT_CURSOR_HEADER))
+            .andReturn();
+
+        String cursor = firstPage.getResponse().getHeader(TransactionController.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/api/transactions/account/{accountId}", fromAccount.getId())
+                .param("limit", "2")
+                .param("cursor", cursor)
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().doesNotExist(TransactionController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void historyPagesMergeSentAndReceivedTransfersInKeysetOrder() throws Exception {
+        User owner = createUser("fromUser", "from@example.com");
+        User other = createUser("toUser", "to@example.com");
+
+        Account account = createAccount(owner, "ACC-121", "Primary", new BigDecimal("100.00"));
+        Account counterparty = createAccount(other, "ACC-221", "Savings", new BigDecimal("100.00"));
+        Account unrelated = createAccount(other, "ACC-222", "Other", new BigDecimal("100.00"));
+        LocalDate day = LocalDate.now().minusDays(1);
+
+        // Sent and received rows interleave, and rows on the same day tie on date and are ordered by id.
+        List<Long> expected = new ArrayList<>();
+        expected.add(saveLedgerRow(account, counterparty, "1.00", day.minusDays(2)).getId());
+        expected.add(saveLedgerRow(counterparty, account, "2.00", day.minusDays(1)).getId());
+        expected.add(saveLedgerRow(account, counterparty, "3.00", day).getId());
+        expected.add(saveLedgerRow(counterparty, account, "4.00", day).getId());
+        expected.add(saveLedgerRow(account, counterparty, "5.00", day).getId());
+        saveLedgerRow(counterparty, unrelated, "6.00", day);
+        // Saved oldest first with ascending ids, so newest first is the reverse.
+        Collections.reverse(expected);
+
+        String token = createToken(owner.getUsername());
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/transactions/account/{accountId}", account.getId())
+                .param("limit", "2")
+                .header("Authorization", "Bearer " + token);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult page = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+            objectMapper.readTree(page.getResponse().getContentAsString())
+                .forEach(item -> paged.add(item.get("id").asLong()));
+            cursor = page.getResponse().getHeader(TransactionController.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void historyExportStreamsNdjson() throws Exception {
+        User fromUser = createUser("fromUser", "from@example.com");
+        User toUser = createUser("toUser", "to@example.com");
+
+        Account fromAccount = createAccount(fromUser, "ACC-130", "Primary", new BigDecimal("100.00"));
+        Account toAccount = createAccount(toUser, "ACC-230", "Savings", new BigDecimal("0.00"));
+
+        String token = createToken(fromUser.getUsername());
+        transfer(token, fromAccount.getNumber(), toAccount.getNumber(), new BigDecimal("1.00"));
+        transfer(token, fromAccount.getNumber(), toAccount.getNumber(), new BigDecimal("2.00"));
+
+        MvcResult started = mockMvc.perform(get("/api/transactions/account/{accountId}", fromAccount.getId())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .header("Authorization", "Bearer " + token))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        String[] lines = body.trim().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("amount").decimalValue()).isEqualByComparingTo("2.00");
+    }
+
+    @Test
+    void accountSearchFiltersSortsAndPagesInDatabase() throws Exception {
+        User user = createUser("searchUser", "search@example.com");
+        User other = createUser("otherUser", "other@example.com");
+        createAccount(user, "ACC-610", "Payroll East", new BigDecimal("1.00"));
+        createAccount(user, "ACC-620", "payroll west", new BigDecimal("2.00"));
+        createAccount(user, "ACC-630", "Payroll_North", new BigDecimal("3.00"));
+        createAccount(user, "ACC-640", "Savings", new BigDecimal("4.00"));
+        createAccount(other, "ACC-650", "Payroll Other", new BigDecimal("5.00"));
+        String token = createToken(user.getUsername());
+
+        mockMvc.perform(get("/api/accounts")
+                .param("name", "PAYROLL")
+                .param("size", "2")
+                .param("sort", "number,desc")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(header().string(AccountController.TOTAL_COUNT_HEADER, "3"))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].number").value("ACC-630"))
+            .andExpect(jsonPath("$[1].number").value("ACC-620"));
+
+        mockMvc.perform(get("/api/accounts")
+                .param("name", "payroll_")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(header().string(AccountController.TOTAL_COUNT_HEADER, "1"))
+            .andExpect(jsonPath("$[0].number").value("ACC-630"));
+
+        mockMvc.perform(get("/api/accounts")
+                .param("sort", "user")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deleteAccountWithBalanceFails() throws Exception {
         User user = createUser("deleteUser", "delete@example.com");
@@ -143,6 +1412,20 @@ class TransactionAndAccountTests {
             .andExpect(jsonPath("$.message").value("Account balance must be zero to delete"));
     }
 
+    private void transfer(String token, String fromNumber, String toNumber, BigDecimal amount) throws Exception {
+        Map<String, Object> payload = Map.of(
+            "fromAccountNumber", fromNumber,
+            "toAccountNumber", toNumber,
+            "amount", amount
+        );
+
+        mockMvc.perform(post("/api/transactions/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + token)
+                .content(objectMapper.writeValueAsString(payload)))
+            .andExpect(status().isOk());
+    }
+
     private User createUser(String username, String email) {
         User user = new User();
         user.setUsername(username);
@@ -155,6 +1438,17 @@ class TransactionAndAccountTests {
         return jwtService.generateToken(userDetailsService.loadUserByUsername(username));
     }
 
+    private Transaction saveLedgerRow(Account fromAccount, Account toAccount, String amount, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setFromAccount(fromAccount);
+        transaction.setToAccount(toAccount);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTransactionDate(date.atTime(12, 0));
+        transaction.setSettledAt(date.atTime(12, 0));
+        transaction.setStatus(TransactionStatus.SUCCESS);
+        return transactionRepository.save(transaction);
+    }
+
     private Account createAccount(User user, String number, String name, BigDecimal balance) {
         Account account = new Account();
         account.setNumber(number);
@@ -0,0 +1,141 @@
+package com.main.mini_bank.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares a JMH JSON result file with a stored baseline and exits with status 1 when any benchmark is
+ * more than the given percentage worse and the difference exceeds the combined score errors of both runs.
+ * Throughput scores regress when they drop; time-per-operation scores regress when they grow. A benchmark
+ * without a baseline entry fails the run too, since it would otherwise never be checked; runs with
+ * parameters that are not part of the baseline pass {@code false} as require-baseline to only list them.
+ *
+ * <p>Usage: {@code BaselineComparator <result.json> <baseline.json> <threshold-percent> [require-baseline]}
+ *
+ * <p>Kept with the tests rather than under src/jmh so that its checks run in the default build; the
+ * benchmarks profile runs it from the test classpath.
+ */
+public final class BaselineComparator {
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3 && args.length != 4) {
+            System.err.println(
+                "Usage: BaselineComparator <result.json> <baseline.json> <threshold-percent> [require-baseline]"
+            );
+            System.exit(2);
+        }
+        boolean requireBaseline = args.length < 4 || Boolean.parseBoolean(args[3]);
+
+        File baselineFile = new File(args[1]);
+        if (!baselineFile.exists()) {
+            System.out.println("No baseline at " + baselineFile + ".");
+            if (requireBaseline) {
+                System.exit(1);
+            }
+            return;
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        double threshold = Double.parseDouble(args[2]);
+        Comparison comparison = compare(
+            objectMapper.readTree(new File(args[0])),
+            objectMapper.readTree(baselineFile),
+            threshold,
+            System.out
+        );
+        if (comparison.missing() > 0) {
+            System.out.printf(
+                "%d benchmark(s) have no baseline entry in %s; record them or they are never checked.%n",
+                comparison.missing(),
+                baselineFile
+            );
+        }
+        if (comparison.regressions() > 0) {
+            System.out.printf(
+                "%d benchmark(s) regressed by more than %.0f%%.%n",
+                comparison.regressions(),
+                threshold
+            );
+        }
+        if (comparison.regressions() > 0 || requireBaseline && comparison.missing() > 0) {
+            System.exit(1);
+        }
+    }
+
+    // Prints one line per benchmark in results and counts those that regressed or have no baseline entry.
+    static Comparison compare(JsonNode resultRuns, JsonNode baselineRuns, double threshold, PrintStream out) {
+        Map<String, JsonNode> results = index(resultRuns);
+        Map<String, JsonNode> baseline = index(baselineRuns);
+
+        int regressions = 0;
+        int missing = 0;
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode metric = entry.getValue().get("primaryMetric");
+            double score = metric.get("score").asDouble();
+            String unit = metric.get("scoreUnit").asText();
+
+            JsonNode base = baseline.get(entry.getKey());
+            if (base == null) {
+                missing++;
+                out.printf("MISSING    %-80s %12.3f %s (no baseline)%n", entry.getKey(), score, unit);
+                continue;
+            }
+
+            JsonNode baseMetric = base.get("primaryMetric");
+            double baseScore = baseMetric.get("score").asDouble();
+            boolean lowerIsBetter = unit.endsWith("/op");
+            double change = (score - baseScore) / baseScore * 100;
+            double worse = lowerIsBetter ? change : -change;
+            double noise = error(metric) + error(baseMetric);
+            boolean regressed = worse > threshold && Math.abs(score - baseScore) > noise;
+            if (regressed) {
+                regressions++;
+            }
+            out.printf(
+                "%-10s %-80s %12.3f %s (baseline %.3f, %+.1f%%)%n",
+                regressed ? "REGRESSED" : "OK",
+                entry.getKey(),
+                score,
+                unit,
+                baseScore,
+                change
+            );
+        }
+        return new Comparison(regressions, missing);
+    }
+
+    record Comparison(int regressions, int missing) {
+    }
+
+    // JMH reports NaN when there are too few samples to compute an error.
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    // Keys are the benchmark name plus its parameters, so every parameter combination is compared separately.
+    private static Map<String, JsonNode> index(JsonNode runs) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            StringBuilder key = new StringBuilder(run.get("benchmark").asText());
+            JsonNode params = run.get("params");
+            if (params != null) {
+                Map<String, String> sorted = new TreeMap<>();
+                params.fields().forEachRemaining(param -> sorted.put(param.getKey(), param.getValue().asText()));
+                sorted.forEach((name, value) -> key.append(':').append(name).append('=').append(value));
+            }
+            indexed.put(key.toString(), run);
+        }
+        return indexed;
+    }
+}
@@ -0,0 +1,106 @@
+package com.main.mini_bank.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.junit.jupiter.api.Test;
+
+class BaselineComparatorTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Test
+    void throughputRegressesWhenItDropsPastThresholdAndNoise() {
+        JsonNode baseline = runs(run("Transfer.single", Map.of(), 1000, 10, "ops/s"));
+
+        assertThat(compare(runs(run("Transfer.single", Map.of(), 700, 10, "ops/s")), baseline)).isEqualTo(1);
+        assertThat(output.toString(StandardCharsets.UTF_8)).startsWith("REGRESSED");
+        // Within the threshold, or faster.
+        assertThat(compare(runs(run("Transfer.single", Map.of(), 900, 10, "ops/s")), baseline)).isZero();
+        assertThat(compare(runs(run("Transfer.single", Map.of(), 1500, 10, "ops/s")), baseline)).isZero();
+    }
+
+    @Test
+    void timePerOperationRegressesWhenItGrows() {
+        JsonNode baseline = runs(run("History.page", Map.of(), 2.0, 0.01, "ms/op"));
+
+        assertThat(compare(runs(run("History.page", Map.of(), 3.0, 0.01, "ms/op")), baseline)).isEqualTo(1);
+        assertThat(compare(runs(run("History.page", Map.of(), 1.0, 0.01, "ms/op")), baseline)).isZero();
+    }
+
+    @Test
+    void differenceWithinCombinedScoreErrorsIsNotARegression() {
+        JsonNode baseline = runs(run("Search.byName", Map.of(), 1000, 200, "ops/s"));
+
+        assertThat(compare(runs(run("Search.byName", Map.of(), 700, 150, "ops/s")), baseline)).isZero();
+        // JMH reports NaN errors for single-iteration runs; they count as no noise.
+        assertThat(compare(runs(run("Search.byName", Map.of(), 700, Double.NaN, "ops/s")), baseline))
+            .isEqualTo(1);
+    }
+
+    @Test
+    void parameterCombinationsAreComparedSeparatelyAndOnesWithoutABaselineAreCounted() {
+        JsonNode baseline = runs(
+            run("History.page", Map.of("rows", "10000"), 1.0, 0.01, "ms/op"),
+            run("History.page", Map.of("rows", "1000000"), 5.0, 0.01, "ms/op")
+        );
+        JsonNode results = runs(
+            run("History.page", Map.of("rows", "10000"), 1.0, 0.01, "ms/op"),
+            run("History.page", Map.of("rows", "1000000"), 9.0, 0.01, "ms/op"),
+            run("History.page", Map.of("rows", "5000000"), 50.0, 0.01, "ms/op")
+        );
+
+        BaselineComparator.Comparison comparison = compareAll(results, baseline);
+        assertThat(comparison.regressions()).isEqualTo(1);
+        assertThat(comparison.missing()).isEqualTo(1);
+        assertThat(output.toString(StandardCharsets.UTF_8))
+            .contains("REGRESSED  History.page:rows=1000000")
+            .contains("MISSING    History.page:rows=5000000");
+    }
+
+    private int compare(JsonNode results, JsonNode baseline) {
+        return compareAll(results, baseline).regressions();
+    }
+
+    private BaselineComparator.Comparison compareAll(JsonNode results, JsonNode baseline) {
+        output.reset();
+        return BaselineComparator.compare(
+            results,
+            baseline,
+            20,
+            new PrintStream(output, true, StandardCharsets.UTF_8)
+        );
+    }
+
+    private ArrayNode runs(ObjectNode... runs) {
+        ArrayNode array = objectMapper.createArrayNode();
+        for (ObjectNode run : runs) {
+            array.add(run);
+        }
+        return array;
+    }
+
+    private ObjectNode run(String benchmark, Map<String, String> params, double score, double error, String unit) {
+        ObjectNode run = objectMapper.createObjectNode();
+        run.put("benchmark", benchmark);
+        if (!params.isEmpty()) {
+            ObjectNode paramNode = run.putObject("params");
+            params.forEach(paramNode::put);
+        }
+        ObjectNode metric = run.putObject("primaryMetric");
+        metric.put("score", score);
+        metric.put("scoreError", error);
+        metric.put("scoreUnit", unit);
+        return run;
+    }
+}